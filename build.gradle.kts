@@ -24,13 +24,96 @@ java {
     sourceCompatibility = JavaVersion.VERSION_1_8
 }
 
+/*
+ * Classes requiring Java 11+ APIs live in src/main/java11 and are packaged under META-INF/versions/11 of a
+ * multi-release jar, each shadowing a Java 8 compatible class of the same name in src/main/java. Building therefore
+ * requires JDK 11 or above while the artifact still runs on Java 8.
+ */
+val java11 by sourceSets.creating {
+    java.srcDir("src/main/java11")
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+tasks.named<JavaCompile>("compileJava11Java") {
+    sourceCompatibility = "11"
+    targetCompatibility = "11"
+}
+
+/*
+ * Streaming deserializers of the model classes are generated from the compiled models by the generator in
+ * src/codegen, compiled from build/generated/sources/deserializers and packaged with the main classes. Mappers from
+ * CodecContext.defaultObjectMapper() register them when present.
+ */
+val codegen by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+}
+
+val generatedDeserializers = file("$buildDir/generated/sources/deserializers/java")
+
+val generateDeserializers by tasks.registering(JavaExec::class) {
+    description = "Generates the streaming deserializers of the model classes."
+    classpath = codegen.runtimeClasspath
+    main = "com.trustedchoice.askkodiak.v2.codec.DeserializerGenerator"
+    args(generatedDeserializers)
+    inputs.files(codegen.runtimeClasspath)
+    outputs.dir(generatedDeserializers)
+    doFirst {
+        delete(generatedDeserializers)
+    }
+}
+
+val deserializers by sourceSets.creating {
+    java.srcDir(generatedDeserializers)
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+tasks.named<JavaCompile>("compileDeserializersJava") {
+    dependsOn(generateDeserializers)
+}
+
+sourceSets.test.get().runtimeClasspath += deserializers.output
+
+/*
+ * JMH benchmarks in src/jmh, e.g. gradlew jmh --args='DecodeBenchmark'
+ */
+val jmh by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().output + deserializers.output + sourceSets.main.get().runtimeClasspath
+}
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks."
+    classpath = jmh.runtimeClasspath
+    main = "org.openjdk.jmh.Main"
+}
+
+tasks.named<Jar>("jar") {
+    from(deserializers.output)
+    into("META-INF/versions/11") {
+        from(java11.output)
+    }
+    manifest {
+        attributes("Multi-Release" to "true")
+    }
+}
+
+tasks.named<Test>("test") {
+    useJUnitPlatform()
+}
+
 lombok {
     config.put("lombok.addLombokGeneratedAnnotation", "true")
 }
 
 tasks.register<Jar>("sourcesJar") {
     dependsOn(JavaPlugin.CLASSES_TASK_NAME)
+    dependsOn(generateDeserializers)
     from(sourceSets.main.get().allJava)
+    from(deserializers.allJava)
+    into("META-INF/versions/11") {
+        from(java11.allJava)
+    }
     archiveClassifier.set("sources")
 }
 
@@ -104,6 +187,8 @@ publishing {
 val jacksonVersion = "2.9.8"
 val feignVersion = "11.1"
 val slf4jVersion = "1.7.26"
+val httpClient5Version = "5.0.3"
+val jmhVersion = "1.21"
 
 dependencies {
 
@@ -116,6 +201,14 @@ dependencies {
 
     api("org.slf4j:slf4j-api:$slf4jVersion")
 
+    // optional transports, applications add the one they use to their own dependencies
+    compileOnly("io.github.openfeign:feign-okhttp:$feignVersion")
+    compileOnly("org.apache.httpcomponents.client5:httpclient5:$httpClient5Version")
+    // optional reactive adapter
+    compileOnly("org.reactivestreams:reactive-streams:1.0.3")
+    // optional reference data cache
+    compileOnly("com.github.ben-manes.caffeine:caffeine:2.9.3")
+
     compileOnly("org.projectlombok:lombok:1.18.6")
     annotationProcessor("org.projectlombok:lombok:1.18.6")
 
@@ -123,4 +216,7 @@ dependencies {
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.4.0")
 
     testImplementation("ch.qos.logback:logback-classic:1.2.3")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
 }
@@ -0,0 +1,368 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.codec;
+
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak;
+import feign.RequestLine;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Build time generator of the {@link StreamingDeserializer}s of the model classes, run by the
+ * {@code generateDeserializers} task of the build.
+ * <p>
+ * Starting from the result types of {@link AskKodiak}, it asks Jackson for the bean deserializer of every model class
+ * reachable through their properties and writes a deserializer setting the same properties through the model's
+ * setters, plus the {@code GeneratedDeserializers} module registering them. A model Jackson would not read as a plain
+ * bean, e.g. one with Jackson annotations other than {@code @JsonProperty} and {@code @JsonFormat} or without a public
+ * no-argument constructor, is left to Jackson.
+ */
+public final class DeserializerGenerator {
+
+    private static final String PACKAGE = DeserializerGenerator.class.getPackage().getName();
+
+    private static final String MODEL_PACKAGE = "com.trustedchoice.askkodiak.v2.model.";
+
+    private static final Set<String> SUPPORTED_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "com.fasterxml.jackson.annotation.JsonProperty", "com.fasterxml.jackson.annotation.JsonFormat"));
+
+    /**
+     * Value types read directly by {@link StreamingDeserializer}, to the name of the method reading them.
+     */
+    private static final Map<Class<?>, String> READERS = new HashMap<>();
+
+    static {
+        READERS.put(String.class, "readString");
+        READERS.put(Integer.class, "readInteger");
+        READERS.put(Long.class, "readLong");
+        READERS.put(Boolean.class, "readBoolean");
+        READERS.put(Float.class, "readFloat");
+        READERS.put(Double.class, "readDouble");
+    }
+
+    private final ObjectMapper mapper = CodecContext.defaultObjectMapper();
+
+    private final DefaultDeserializationContext ctxt;
+
+    private final Map<String, BeanDeserializer> models = new TreeMap<>();
+
+    private final Set<Class<?>> visited = new HashSet<>();
+
+    private DeserializerGenerator() {
+        DeserializationConfig config = mapper.getDeserializationConfig();
+        ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext()).createInstance(config, null, null);
+    }
+
+    /**
+     * @param args Directory to write the sources to
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: DeserializerGenerator <source directory>");
+        }
+        DeserializerGenerator generator = new DeserializerGenerator();
+        for (Method method : AskKodiak.class.getMethods()) {
+            if (method.isAnnotationPresent(RequestLine.class)) {
+                generator.visit(generator.mapper.constructType(method.getGenericReturnType()));
+            }
+        }
+        generator.write(Paths.get(args[0]).resolve(PACKAGE.replace('.', '/')));
+    }
+
+    private void visit(JavaType type) throws IOException {
+        for (int i = 0; i < type.containedTypeCount(); i++) {
+            visit(type.containedType(i));
+        }
+        Class<?> model = type.getRawClass();
+        if (!model.getName().startsWith(MODEL_PACKAGE) || !visited.add(model) || !isPlainBean(model)) {
+            return;
+        }
+        JsonDeserializer<Object> deserializer = ctxt.findRootValueDeserializer(type);
+        if (deserializer.getClass() != BeanDeserializer.class) {
+            return;
+        }
+        BeanDeserializer bean = (BeanDeserializer) deserializer;
+        if (bean.getObjectIdReader() != null || bean.creatorProperties() != null && bean.creatorProperties().hasNext()) {
+            return;
+        }
+        String name = model.getSimpleName() + "Deserializer";
+        BeanDeserializer existing = models.put(name, bean);
+        if (existing != null) {
+            throw new IllegalStateException("Models " + model(existing).getName() + " and "
+                    + model.getName() + " share the simple name " + model.getSimpleName());
+        }
+        for (Iterator<SettableBeanProperty> properties = bean.properties(); properties.hasNext(); ) {
+            visit(properties.next().getType());
+        }
+    }
+
+    private static boolean isPlainBean(Class<?> model) {
+        if (!Modifier.isPublic(model.getModifiers()) || model.isInterface() || model.isEnum()
+                || Modifier.isAbstract(model.getModifiers()) || model.getTypeParameters().length > 0
+                || model.getSuperclass() != Object.class || hasUnsupportedAnnotations(model.getAnnotations())) {
+            return false;
+        }
+        try {
+            if (!Modifier.isPublic(model.getConstructor().getModifiers())) {
+                return false;
+            }
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        List<AccessibleObject> members = new ArrayList<>(Arrays.asList(model.getDeclaredFields()));
+        members.addAll(Arrays.asList(model.getDeclaredMethods()));
+        return members.stream().noneMatch(member -> hasUnsupportedAnnotations(member.getAnnotations()));
+    }
+
+    private static boolean hasUnsupportedAnnotations(Annotation[] annotations) {
+        return Arrays.stream(annotations)
+                .map(annotation -> annotation.annotationType().getName())
+                .anyMatch(name -> name.startsWith("com.fasterxml.jackson.") && !SUPPORTED_ANNOTATIONS.contains(name));
+    }
+
+    private void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, BeanDeserializer> model : models.entrySet()) {
+            write(directory.resolve(model.getKey() + ".java"), deserializer(model.getKey(), model.getValue()));
+        }
+        StringBuilder module = header(models.values().stream().map(DeserializerGenerator::model))
+                .append("final class GeneratedDeserializers extends StreamingDeserializers {\n\n")
+                .append("    GeneratedDeserializers() {\n");
+        for (Map.Entry<String, BeanDeserializer> model : models.entrySet()) {
+            module.append("        add(").append(model(model.getValue()).getSimpleName()).append(".class, ")
+                    .append(model.getKey()).append("::new);\n");
+        }
+        module.append("    }\n}\n");
+        write(directory.resolve("GeneratedDeserializers.java"), module);
+    }
+
+    private static void write(Path file, CharSequence source) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.append(source);
+        }
+    }
+
+    /**
+     * @param imports Classes imported besides the models, in order
+     */
+    private static StringBuilder header(Stream<Class<?>> models, String... imports) {
+        StringBuilder header = new StringBuilder()
+                .append("// Generated by ").append(DeserializerGenerator.class.getName()).append(", do not edit.\n")
+                .append("package ").append(PACKAGE).append(";\n\n");
+        Stream.concat(Arrays.stream(imports).filter(name -> !name.startsWith("java.")),
+                models.map(Class::getName).sorted())
+                .forEach(name -> header.append("import ").append(name).append(";\n"));
+        String[] java = Arrays.stream(imports).filter(name -> name.startsWith("java.")).toArray(String[]::new);
+        if (java.length > 0) {
+            header.append('\n');
+            Arrays.stream(java).forEach(name -> header.append("import ").append(name).append(";\n"));
+        }
+        return header.append('\n');
+    }
+
+    private static Class<?> model(BeanDeserializer bean) {
+        return bean.getValueType().getRawClass();
+    }
+
+    private StringBuilder deserializer(String name, BeanDeserializer bean) {
+        String model = model(bean).getSimpleName();
+        StringBuilder fields = new StringBuilder();
+        StringBuilder resolve = new StringBuilder();
+        StringBuilder set = new StringBuilder();
+        Set<String> names = new HashSet<>();
+        for (Iterator<SettableBeanProperty> properties = bean.properties(); properties.hasNext(); ) {
+            SettableBeanProperty property = properties.next();
+            String json = literal(property.getName());
+            String field = unique(names, identifier(property));
+            Method setter = setter(model(bean), property);
+            set.append("            case ").append(json).append(":\n");
+            if (setter == null) {
+                // left to Jackson, e.g. a field, a primitive or a polymorphic value
+                fields.append("    private SettableBeanProperty ").append(field).append("Property;\n\n");
+                resolve.append("        ").append(field).append("Property = settable(").append(json).append(");\n");
+                set.append("                ").append(field).append("Property.deserializeAndSet(p, ctxt, value);\n");
+            } else {
+                String deserializer = field + "Deserializer";
+                fields.append("    private JsonDeserializer<Object> ").append(deserializer).append(";\n\n");
+                set.append("                value.").append(setter.getName()).append('(')
+                        .append(read(property.getType(), field, deserializer, fields, resolve, json)).append(");\n");
+            }
+            set.append("                return true;\n");
+        }
+        List<String> imports = new ArrayList<>(Arrays.asList(
+                "com.fasterxml.jackson.core.JsonParser",
+                "com.fasterxml.jackson.databind.DeserializationContext"));
+        if (fields.indexOf("JsonDeserializer<Object> ") >= 0) {
+            imports.add("com.fasterxml.jackson.databind.JsonDeserializer");
+        }
+        imports.add("com.fasterxml.jackson.databind.JsonMappingException");
+        imports.add("com.fasterxml.jackson.databind.deser.BeanDeserializerBase");
+        if (fields.indexOf("SettableBeanProperty ") >= 0) {
+            imports.add("com.fasterxml.jackson.databind.deser.SettableBeanProperty");
+        }
+        imports.add("java.io.IOException");
+        return header(Stream.of(model(bean)), imports.toArray(new String[0]))
+                .append("final class ").append(name).append(" extends StreamingDeserializer<").append(model)
+                .append("> {\n\n")
+                .append(fields)
+                .append("    ").append(name).append("(BeanDeserializerBase bean) {\n")
+                .append("        super(bean);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    ").append(model).append(" create() {\n")
+                .append("        return new ").append(model).append("();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    void resolveProperties(DeserializationContext ctxt) throws JsonMappingException {\n")
+                .append(resolve)
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    boolean set(").append(model)
+                .append(" value, String name, JsonParser p, DeserializationContext ctxt)\n")
+                .append("            throws IOException {\n")
+                .append("        switch (name) {\n")
+                .append(set)
+                .append("            default:\n")
+                .append("                return false;\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+    }
+
+    /**
+     * @return Expression reading a property through a setter, declaring and resolving the fields it uses
+     */
+    private String read(JavaType type, String field, String deserializer, StringBuilder fields,
+                        StringBuilder resolve, String json) {
+        Class<?> raw = type.getRawClass();
+        String reader = READERS.get(raw);
+        if (reader != null) {
+            resolve.append("        ").append(deserializer).append(" = standard(property(").append(json)
+                    .append("));\n");
+            return reader + "(p, ctxt, " + deserializer + ")";
+        }
+        boolean list = raw == List.class;
+        boolean map = raw == Map.class && type.getKeyType().getRawClass() == String.class;
+        if (!list && !map) {
+            resolve.append("        ").append(deserializer).append(" = property(").append(json).append(");\n");
+            return "readObject(p, ctxt, " + deserializer + ")";
+        }
+        JavaType content = type.getContentType();
+        String contentReader = READERS.get(content.getRawClass());
+        String contentDeserializer = field + "Content";
+        fields.append("    private JsonDeserializer<Object> ").append(contentDeserializer).append(";\n\n");
+        resolve.append("        ").append(deserializer).append(" = standard(property(").append(json).append("));\n")
+                .append("        ").append(contentDeserializer).append(" = ")
+                .append(contentReader != null ? "standard(" : "")
+                .append("content(ctxt, ").append(deserializer).append(", ").append(literal(content.toCanonical()))
+                .append(contentReader != null ? ")" : "").append(");\n");
+        return (list ? "readList" : "readMap") + "(p, ctxt, " + deserializer + ", " + contentDeserializer
+                + ", StreamingDeserializer::" + (contentReader != null ? contentReader : "readObject") + ")";
+    }
+
+    /**
+     * @return The public setter Jackson calls for a property, if the generated code may call it instead
+     */
+    private static Method setter(Class<?> model, SettableBeanProperty property) {
+        if (property.getClass() != MethodProperty.class || property.hasValueTypeDeserializer() || property.hasViews()
+                || property.getManagedReferenceName() != null || property.getObjectIdInfo() != null
+                || property.getInjectableValueId() != null) {
+            return null;
+        }
+        Method setter = ((AnnotatedMethod) property.getMember()).getAnnotated();
+        boolean overloaded = Arrays.stream(model.getMethods())
+                .filter(method -> method.getName().equals(setter.getName()))
+                .count() > 1;
+        return Modifier.isPublic(setter.getModifiers()) && !setter.getParameterTypes()[0].isPrimitive() && !overloaded
+                ? setter
+                : null;
+    }
+
+    /**
+     * @return Name of the fields of a property, from the setter or field Jackson found it through
+     */
+    private static String identifier(SettableBeanProperty property) {
+        String member = property.getMember().getName();
+        if (property.getMember() instanceof AnnotatedMethod && member.startsWith("set") && member.length() > 3) {
+            member = Character.toLowerCase(member.charAt(3)) + member.substring(4);
+        }
+        StringBuilder identifier = new StringBuilder();
+        for (char c : member.toCharArray()) {
+            identifier.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        return Character.isJavaIdentifierStart(identifier.charAt(0)) ? identifier.toString() : "_" + identifier;
+    }
+
+    private static String unique(Set<String> names, String name) {
+        String unique = name;
+        for (int i = 2; !names.add(unique); i++) {
+            unique = name + i;
+        }
+        return unique;
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.trustedchoice.askkodiak.v2.model.product.Products;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a page of 100 products with Jackson's reflective bean deserializers and with the generated ones, run by the
+ * {@code jmh} task of the build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeBenchmark {
+
+    private static final String[] STATES = {"AL", "AK", "AZ", "AR", "CA", "CO", "CT", "DE", "FL", "GA", "HI", "ID",
+            "IL", "IN", "IA", "KS", "KY", "LA", "ME", "MD", "MA", "MI", "MN", "MS", "MO", "MT", "NE", "NV", "NH", "NJ",
+            "NM", "NY", "NC", "ND", "OH", "OK", "OR", "PA", "RI", "SC", "SD", "TN", "TX", "UT", "VT", "VA", "WA", "WV",
+            "WI", "WY"};
+
+    private byte[] page;
+
+    private ObjectReader reflective;
+
+    private ObjectReader generated;
+
+    @Setup
+    public void setUp() {
+        page = page(100).getBytes(StandardCharsets.UTF_8);
+        reflective = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(MapperFeature.USE_GETTERS_AS_SETTERS, false)
+                .readerFor(Products.class);
+        generated = CodecContext.defaultObjectMapper().readerFor(Products.class);
+    }
+
+    @Benchmark
+    public Products reflective() throws IOException {
+        return reflective.readValue(page);
+    }
+
+    @Benchmark
+    public Products generated() throws IOException {
+        return generated.readValue(page);
+    }
+
+    private static String page(int products) {
+        StringBuilder json = new StringBuilder("{\"name\":\"Products\",\"count\":").append(products)
+                .append(",\"productsPerPage\":").append(products).append(",\"page\":1,\"pages\":1,")
+                .append("\"summaryOnly\":false,\"filters\":{\"geos\":\"US-NY\"},\"products\":[");
+        for (int i = 0; i < products; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"id\":\"product-").append(i).append("\",\"name\":\"Commercial Auto ").append(i)
+                    .append("\",\"description\":\"Coverage for vehicles owned or used by a business.\",")
+                    .append("\"ownerId\":\"company-").append(i % 10).append("\",\"ownerType\":\"carrier\",")
+                    .append("\"ownerLogo\":\"https://example.com/logo.png\",\"admitted\":true,")
+                    .append("\"minYearsInBusiness\":2,\"coverageType\":[\"auto\",\"liability\",\"physical damage\"],")
+                    .append("\"highlights\":[\"High limits\",\"Excellent claims service\"],")
+                    .append("\"annualRevenue\":{\"min\":100000,\"max\":50000000},")
+                    .append("\"vehicles\":{\"min\":1,\"max\":50},")
+                    .append("\"collateral\":[{\"description\":\"Brochure\",\"link\":\"https://example.com/b.pdf\"}],")
+                    .append("\"geos\":{");
+            for (int j = 0; j < STATES.length; j++) {
+                json.append(j == 0 ? "" : ",").append("\"US-").append(STATES[j]).append("\":").append(j % 7 != 0);
+            }
+            json.append("},\"tags\":{\"preferred\":true},\"meta\":{\"created\":{\"by\":\"user-1\",\"on\":1577836800},")
+                    .append("\"lastIndexed\":1609459200,\"trusted\":true},")
+                    .append("\"_eligible\":true,\"_score\":").append(100 - i)
+                    .append(",\"_eligibilityForGroupFilters\":{\"44\":0.5,\"4411\":1.0}}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A cached result with the time it was loaded, and whether a call is loading it again, see {@link StalePolicy}.
+ */
+final class Cached {
+
+    private final Object value;
+
+    private final long loaded;
+
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    /**
+     * @param value  Result
+     * @param loaded Time the result was loaded, in nanoseconds of the cache's ticker
+     */
+    Cached(Object value, long loaded) {
+        this.value = value;
+        this.loaded = loaded;
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    /**
+     * @param now Current time, in nanoseconds of the cache's ticker
+     * @return Nanoseconds since the result was loaded
+     */
+    long age(long now) {
+        return now - loaded;
+    }
+
+    /**
+     * @return Whether the caller is the one to load the result again, no other call doing so
+     */
+    boolean startReload() {
+        return reloading.compareAndSet(false, true);
+    }
+
+    /**
+     * Let a later call load the result again, after this attempt failed.
+     */
+    void reloadFailed() {
+        reloading.set(false);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.trustedchoice.askkodiak.v2.codec.QueryEncoder;
+import feign.QueryMap;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Identifies a call by its endpoint and arguments, query classes being compared by the parameters they encode to as
+ * they do not implement {@code equals}.
+ */
+@lombok.Value
+class CallKey {
+
+    private static final QueryEncoder QUERY_ENCODER = new QueryEncoder();
+
+    /**
+     * Which parameters of each method are query maps.
+     */
+    private static final Map<Method, boolean[]> QUERY_MAPS = new ConcurrentHashMap<>();
+
+    String requestLine;
+
+    List<Object> args;
+
+    static CallKey of(String requestLine, Method method, Object[] args) {
+        if (args == null || args.length == 0) {
+            return new CallKey(requestLine, Collections.emptyList());
+        }
+        boolean[] queryMaps = QUERY_MAPS.computeIfAbsent(method, CallKey::queryMaps);
+        List<Object> key = new ArrayList<>(args.length);
+        for (int i = 0; i < args.length; i++) {
+            key.add(queryMaps[i] && args[i] != null ? QUERY_ENCODER.encode(args[i]) : args[i]);
+        }
+        return new CallKey(requestLine, key);
+    }
+
+    /**
+     * @param index Index of an argument
+     * @param value Value replacing it
+     * @return Key of the same call with another argument
+     */
+    CallKey withArg(int index, Object value) {
+        List<Object> key = new ArrayList<>(args);
+        key.set(index, value);
+        return new CallKey(requestLine, key);
+    }
+
+    private static boolean[] queryMaps(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        boolean[] queryMaps = new boolean[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            queryMaps[i] = Arrays.stream(annotations[i]).anyMatch(annotation -> annotation instanceof QueryMap);
+        }
+        return queryMaps;
+    }
+}
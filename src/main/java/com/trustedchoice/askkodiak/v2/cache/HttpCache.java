@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.trustedchoice.askkodiak.v2.codec.SharedBody;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Store of validated responses used by {@link RevalidatingClient}, holding the least recently used responses up to a
+ * maximum number of entries.
+ * <p>
+ * Responses are keyed by URL and credentials, so a single instance may be shared by clients of different groups. The
+ * decoded object of a response is kept with it and returned again whenever the API confirms the response is unchanged,
+ * callers must treat it as read only.
+ */
+public class HttpCache {
+
+    /**
+     * Number of responses held by default.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final Map<String, Entry> entries;
+
+    private final ConcurrentMap<String, Counters> endpoints = new ConcurrentHashMap<>();
+
+    public HttpCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries Maximum number of responses held, the least recently used is evicted beyond it
+     */
+    public HttpCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, HttpCache.Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * @return Number of responses held.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove every response, the next request of each is sent unconditionally.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    Counters counters(String requestLine) {
+        return endpoints.computeIfAbsent(requestLine, key -> new Counters());
+    }
+
+    /**
+     * @return Statistics keyed by endpoint request line, see
+     * {@link com.trustedchoice.askkodiak.v2.transport.Endpoints#requestLine(feign.Request)}
+     */
+    public Map<String, EndpointStats> snapshot() {
+        Map<String, EndpointStats> snapshot = new TreeMap<>();
+        endpoints.forEach((endpoint, counters) -> snapshot.put(endpoint, new EndpointStats(
+                counters.notModified.sum(),
+                counters.modified.sum(),
+                counters.bytesSaved.sum())));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    public void resetStats() {
+        endpoints.clear();
+    }
+
+    /**
+     * A response with its validators.
+     */
+    @lombok.Value
+    static class Entry {
+
+        String etag;
+
+        String lastModified;
+
+        int status;
+
+        String reason;
+
+        Map<String, Collection<String>> headers;
+
+        SharedBody body;
+    }
+
+    static class Counters {
+
+        final LongAdder notModified = new LongAdder();
+
+        final LongAdder modified = new LongAdder();
+
+        final LongAdder bytesSaved = new LongAdder();
+    }
+
+    @lombok.Value
+    public static class EndpointStats {
+
+        /**
+         * Conditional requests answered with 304 Not Modified, served from the cache.
+         */
+        long notModified;
+
+        /**
+         * Conditional requests answered with a new response.
+         */
+        long modified;
+
+        /**
+         * Body bytes not transferred thanks to 304 responses.
+         */
+        long bytesSaved;
+
+        /**
+         * @return Share of conditional requests served from the cache.
+         */
+        public double getHitRatio() {
+            long requests = notModified + modified;
+            return requests == 0 ? 0.0 : (double) notModified / requests;
+        }
+    }
+}
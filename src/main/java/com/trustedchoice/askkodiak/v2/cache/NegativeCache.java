@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+import com.trustedchoice.askkodiak.v2.resilience.CallPolicy;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers calls of lookup endpoints which the API answered with 404 Not Found, such as a product id which does not
+ * exist, and answers them again for a short time without sending the request, see {@link NegativeCacheConfig}.
+ * <p>
+ * A remembered call fails with a {@link CachedNotFoundException} carrying the original status and message, cheap to
+ * throw as it has no stack trace. Answers are held in a <a href="https://github.com/ben-manes/caffeine">Caffeine</a>
+ * cache bounded by size. Requires {@code com.github.ben-manes.caffeine:caffeine} on the classpath. A single instance
+ * may be shared by several clients of the same group, answers are not keyed by credentials.
+ */
+public class NegativeCache implements CallPolicy {
+
+    private final NegativeCacheConfig config;
+
+    private final Cache<CallKey, String> notFound;
+
+    private final ConcurrentMap<String, Counters> endpoints = new ConcurrentHashMap<>();
+
+    public NegativeCache(NegativeCacheConfig config) {
+        this(config, Ticker.systemTicker());
+    }
+
+    /**
+     * @param config Configuration
+     * @param ticker Source of time of the answers' time to live
+     */
+    NegativeCache(NegativeCacheConfig config, Ticker ticker) {
+        this.config = config;
+        this.notFound = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .removalListener((CallKey key, String message, RemovalCause cause) -> {
+                    if (key != null && cause.wasEvicted() && cause != RemovalCause.EXPIRED) {
+                        counters(key.getRequestLine()).evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Object apply(String requestLine, Method method, Object[] args, Call call) throws Throwable {
+        if (!config.getEndpoints().contains(requestLine)) {
+            return call.proceed();
+        }
+        CallKey key = CallKey.of(requestLine, method, args);
+        String message = notFound.getIfPresent(key);
+        if (message != null) {
+            counters(requestLine).hits.increment();
+            throw new CachedNotFoundException(404, message);
+        }
+        try {
+            return call.proceed();
+        } catch (AskKodiakException e) {
+            if (e.getStatus() == 404 && !(e instanceof CachedNotFoundException)) {
+                notFound.put(key, e.getMessage() != null ? e.getMessage() : "Not Found");
+                counters(requestLine).stored.increment();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Forget every answer, e.g. after creating products.
+     */
+    public void invalidateAll() {
+        notFound.invalidateAll();
+    }
+
+    /**
+     * @param requestLine Request line of an endpoint, e.g. {@code GET /v2/product/{id}}
+     */
+    public void invalidate(String requestLine) {
+        notFound.asMap().keySet().removeIf(key -> key.getRequestLine().equals(requestLine));
+    }
+
+    /**
+     * @return Approximate number of answers held.
+     */
+    public long estimatedSize() {
+        return notFound.estimatedSize();
+    }
+
+    /**
+     * @return Statistics keyed by endpoint request line
+     */
+    public Map<String, EndpointStats> snapshot() {
+        Map<String, EndpointStats> snapshot = new TreeMap<>();
+        endpoints.forEach((endpoint, counters) -> snapshot.put(endpoint, new EndpointStats(
+                counters.hits.sum(),
+                counters.stored.sum(),
+                counters.evictions.sum())));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    public void resetStats() {
+        endpoints.clear();
+    }
+
+    private Counters counters(String requestLine) {
+        return endpoints.computeIfAbsent(requestLine, key -> new Counters());
+    }
+
+    private static class Counters {
+
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder stored = new LongAdder();
+
+        final LongAdder evictions = new LongAdder();
+    }
+
+    @lombok.Value
+    public static class EndpointStats {
+
+        /**
+         * Calls answered with a {@link CachedNotFoundException} without sending the request.
+         */
+        long hits;
+
+        /**
+         * 404 answers of the API remembered.
+         */
+        long stored;
+
+        /**
+         * Answers evicted to stay within the configured bound, expired answers are not counted.
+         */
+        long evictions;
+    }
+}
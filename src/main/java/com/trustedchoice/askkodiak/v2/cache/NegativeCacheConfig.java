@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Negative cache configuration, see {@link NegativeCache}.
+ * <pre>
+ * NegativeCacheConfig.builder()
+ *         .ttl(Duration.ofSeconds(30))
+ *         .maximumSize(50_000)
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class NegativeCacheConfig {
+
+    /**
+     * Request lines of the lookups by id cached by default: products, product eligibility for a NAICS hash, NAICS
+     * codes by hash and SIC codes.
+     */
+    public static final Set<String> DEFAULT_ENDPOINTS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "GET /v2/product/{id}",
+            "GET /v2/product/{id}/is-eligible-for/{code}",
+            "GET /v2/naics/code/{hash}",
+            "GET /v2/sic/code/{sic}")));
+
+    /**
+     * Request lines of the endpoints whose 404 answers are cached.
+     */
+    @lombok.Builder.Default
+    private final Set<String> endpoints = DEFAULT_ENDPOINTS;
+
+    /**
+     * Time a 404 answer is repeated without sending the request. Kept short, as an id may be created at any time.
+     */
+    @lombok.Builder.Default
+    private final Duration ttl = Duration.ofMinutes(1);
+
+    /**
+     * Bound of the number of answers held.
+     */
+    @lombok.Builder.Default
+    private final long maximumSize = 10_000;
+
+    public static NegativeCacheConfig defaults() {
+        return builder().build();
+    }
+}
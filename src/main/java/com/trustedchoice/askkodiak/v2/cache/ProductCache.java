@@ -0,0 +1,428 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.trustedchoice.askkodiak.v2.model.TimestampUidPair;
+import com.trustedchoice.askkodiak.v2.model.product.Product;
+import com.trustedchoice.askkodiak.v2.model.product.ProductMetadata;
+import com.trustedchoice.askkodiak.v2.model.product.Products;
+import com.trustedchoice.askkodiak.v2.resilience.CallPolicy;
+
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches products retrieved by id, {@code GET /v2/product/{id}}, for as long as no newer version of them is seen.
+ * <p>
+ * The version of a product is the time of its last update and of its last indexing, see
+ * {@link ProductMetadata#getLastUpdated()} and {@link ProductMetadata#getLastIndexed()}. Every product listing returned
+ * through the same proxy, such as {@link com.trustedchoice.askkodiak.v2.client.AskKodiak#getProductsEligibleForCode},
+ * updates the versions known of its products, and a cached product older than the version known of it is loaded again
+ * on its next call. Listings requested with {@code summaryOnly} usually carry no metadata and leave versions as they
+ * are. Listings obtained otherwise can be passed to {@link #observe(Products)}. A product is also loaded again once its
+ * time to live has passed, in case no listing showed it changed, as is one returned without metadata to compare. Stale
+ * and outdated products may still be served while they are loaded again, or when the API fails, see
+ * {@link ProductCacheConfig#getStaleWhileRevalidate()} and {@link ProductCacheConfig#getStaleIfError()}.
+ * <p>
+ * Products are held in a <a href="https://github.com/ben-manes/caffeine">Caffeine</a> cache. Concurrent calls missing
+ * the same product wait for a single load, made outside of the cache's locks, and share its exception if it fails. A
+ * failed load is not cached. Callers receive the same product object and must not modify it.
+ * Requires {@code com.github.ben-manes.caffeine:caffeine} on the classpath. A single instance may be shared by several
+ * clients of the same group, products are not keyed by credentials.
+ */
+public class ProductCache implements CallPolicy {
+
+    /**
+     * Request line of the endpoint cached.
+     */
+    public static final String PRODUCT = "GET /v2/product/{id}";
+
+    private final long ttl;
+
+    private final StalePolicy stale;
+
+    private final Executor executor;
+
+    private final Ticker ticker;
+
+    private final Cache<CallKey, Cached> products;
+
+    private final Cache<String, Version> versions;
+
+    private final Counters counters = new Counters();
+
+    /**
+     * Products being loaded, which concurrent calls missing them wait for.
+     */
+    private final ConcurrentMap<CallKey, CompletableFuture<Cached>> loads = new ConcurrentHashMap<>();
+
+    public ProductCache(ProductCacheConfig config) {
+        this(config, RefreshExecutor.INSTANCE);
+    }
+
+    /**
+     * @param config   Configuration
+     * @param executor Executor refreshing stale products
+     */
+    public ProductCache(ProductCacheConfig config, Executor executor) {
+        this(config, executor, Ticker.systemTicker());
+    }
+
+    /**
+     * @param config   Configuration
+     * @param executor Executor refreshing stale products
+     * @param ticker   Source of time of the products' time to live
+     */
+    ProductCache(ProductCacheConfig config, Executor executor, Ticker ticker) {
+        this.ttl = config.getTtl().toNanos();
+        this.stale = new StalePolicy(config.getStaleWhileRevalidate(), config.getStaleIfError());
+        this.executor = executor;
+        this.ticker = ticker;
+        this.products = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(stale.retention(ttl), TimeUnit.NANOSECONDS)
+                .removalListener((CallKey key, Cached value, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && cause != RemovalCause.EXPIRED) {
+                        counters.evictions.increment();
+                    }
+                })
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .build();
+    }
+
+    @Override
+    public Object apply(String requestLine, Method method, Object[] args, Call call) throws Throwable {
+        if (!PRODUCT.equals(requestLine)) {
+            Object result = call.proceed();
+            if (result instanceof Products) {
+                observe((Products) result);
+            }
+            return result;
+        }
+
+        String id = String.valueOf(args[0]);
+        CallKey key = CallKey.of(requestLine, method, args);
+        Cached cached = products.getIfPresent(key);
+        if (cached != null) {
+            StalePolicy.Freshness freshness = stale.freshness(cached, ttl, ticker.read());
+            if (freshness == StalePolicy.Freshness.FRESH && isOutdated(id, cached)) {
+                counters.outdated.increment();
+                freshness = stale.outdated();
+            }
+            switch (freshness) {
+                case FRESH:
+                    counters.hits.increment();
+                    return cached.getValue();
+                case REVALIDATE:
+                    counters.stale.increment();
+                    if (cached.startReload()) {
+                        executor.execute(() -> refresh(key, id, cached, call));
+                    }
+                    return cached.getValue();
+                case IF_ERROR:
+                    if (!cached.startReload()) {
+                        // another call is loading it again
+                        counters.stale.increment();
+                        return cached.getValue();
+                    }
+                    counters.misses.increment();
+                    try {
+                        return reload(key, id, call);
+                    } catch (Throwable e) {
+                        if (!StalePolicy.servesStale(e)) {
+                            products.asMap().remove(key, cached);
+                            throw e;
+                        }
+                        cached.reloadFailed();
+                        counters.staleIfError.increment();
+                        return cached.getValue();
+                    }
+                default:
+                    products.asMap().remove(key, cached);
+                    break;
+            }
+        }
+
+        CompletableFuture<Cached> load = new CompletableFuture<>();
+        CompletableFuture<Cached> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            counters.hits.increment();
+            return await(running).getValue();
+        }
+        try {
+            Cached current = products.getIfPresent(key);
+            if (current != null && current != cached) {
+                // loaded by another call since this one missed it
+                counters.hits.increment();
+                load.complete(current);
+                return current.getValue();
+            }
+            // loaded outside of the cache's compute, which must not block on the network
+            counters.misses.increment();
+            Cached loaded = new Cached(load(id, call), ticker.read());
+            products.put(key, loaded);
+            load.complete(loaded);
+            return loaded.getValue();
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    /**
+     * @return Product loaded by a concurrent call, which failed with the same exception if it did
+     */
+    private static Cached await(CompletableFuture<Cached> load) throws Throwable {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private boolean isOutdated(String id, Cached cached) {
+        Version known = versions.getIfPresent(id);
+        // a product without a version of its own cannot be compared, its time to live applies
+        Version version = Version.of((Product) cached.getValue());
+        return known != null && version != null && known.isNewerThan(version);
+    }
+
+    private Product load(String id, Call call) throws Throwable {
+        Product product = (Product) call.proceed();
+        // the product just loaded is the current version, even if a listing reported a later one
+        Version version = Version.of(product);
+        if (version != null) {
+            versions.put(id, version);
+        }
+        return product;
+    }
+
+    private Product reload(CallKey key, String id, Call call) throws Throwable {
+        Product product = load(id, call);
+        products.put(key, new Cached(product, ticker.read()));
+        return product;
+    }
+
+    /**
+     * Replace a stale product by the API's current one in the background. The product is kept if the call fails,
+     * unless the API answered that it is gone, see {@link StalePolicy#servesStale(Throwable)}.
+     */
+    private void refresh(CallKey key, String id, Cached cached, Call call) {
+        try {
+            reload(key, id, call);
+        } catch (Error e) {
+            cached.reloadFailed();
+            throw e;
+        } catch (Throwable e) {
+            if (StalePolicy.servesStale(e)) {
+                counters.refreshFailures.increment();
+                cached.reloadFailed();
+            } else {
+                counters.refreshRemovals.increment();
+                products.asMap().remove(key, cached);
+            }
+        }
+    }
+
+    /**
+     * Update the versions known of the products of a listing, cached products older than them are loaded again on
+     * their next call.
+     *
+     * @param listing Listing of products, with their metadata
+     */
+    public void observe(Products listing) {
+        if (listing == null || listing.getProducts() == null) {
+            return;
+        }
+        for (Product product : listing.getProducts()) {
+            Version version = Version.of(product);
+            String id = product.getId().orElse(null);
+            if (version != null && id != null) {
+                versions.asMap().merge(id, version, (known, seen) -> seen.isNewerThan(known) ? seen : known);
+            }
+        }
+    }
+
+    /**
+     * @param id Id of a product, whose every cached rendering is removed
+     */
+    public void invalidate(String id) {
+        products.asMap().keySet().removeIf(key -> id.equals(key.getArgs().get(0)));
+    }
+
+    public void invalidateAll() {
+        products.invalidateAll();
+        versions.invalidateAll();
+    }
+
+    /**
+     * @return Approximate number of products held, one per id and query.
+     */
+    public long estimatedSize() {
+        return products.estimatedSize();
+    }
+
+    public ProductCacheStats snapshot() {
+        return new ProductCacheStats(
+                counters.hits.sum(),
+                counters.misses.sum(),
+                counters.outdated.sum(),
+                counters.stale.sum(),
+                counters.staleIfError.sum(),
+                counters.refreshFailures.sum(),
+                counters.refreshRemovals.sum(),
+                counters.evictions.sum());
+    }
+
+    public void resetStats() {
+        counters.hits.reset();
+        counters.misses.reset();
+        counters.outdated.reset();
+        counters.stale.reset();
+        counters.staleIfError.reset();
+        counters.refreshFailures.reset();
+        counters.refreshRemovals.reset();
+        counters.evictions.reset();
+    }
+
+    /**
+     * Times of a product's last update and last indexing, in epoch millis, either unknown if {@code null}.
+     */
+    @lombok.Value
+    static class Version {
+
+        Long updated;
+
+        Long indexed;
+
+        static Version of(Product product) {
+            ProductMetadata meta = product != null ? product.getMeta().orElse(null) : null;
+            if (meta == null) {
+                return null;
+            }
+            Long updated = meta.getLastUpdated().flatMap(TimestampUidPair::getOn).map(Timestamp::getTime).orElse(null);
+            Long indexed = meta.getLastIndexed().map(Timestamp::getTime).orElse(null);
+            return updated == null && indexed == null ? null : new Version(updated, indexed);
+        }
+
+        boolean isNewerThan(Version other) {
+            return later(updated, other.updated) || later(indexed, other.indexed);
+        }
+
+        private static boolean later(Long time, Long other) {
+            return time != null && (other == null || time > other);
+        }
+    }
+
+    private static class Counters {
+
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder misses = new LongAdder();
+
+        final LongAdder outdated = new LongAdder();
+
+        final LongAdder stale = new LongAdder();
+
+        final LongAdder staleIfError = new LongAdder();
+
+        final LongAdder refreshFailures = new LongAdder();
+
+        final LongAdder refreshRemovals = new LongAdder();
+
+        final LongAdder evictions = new LongAdder();
+    }
+
+    @lombok.Value
+    public static class ProductCacheStats {
+
+        /**
+         * Calls served from the cache, including those which waited for a concurrent load.
+         */
+        long hits;
+
+        /**
+         * Calls which loaded the product, including those made past the time to live which returned the stale product
+         * on failure.
+         */
+        long misses;
+
+        /**
+         * Calls for a cached product of which a newer version was seen, loading it again.
+         */
+        long outdated;
+
+        /**
+         * Calls served a stale or outdated product while it was loaded again in the background.
+         */
+        long stale;
+
+        /**
+         * Calls served a stale or outdated product because loading it again failed.
+         */
+        long staleIfError;
+
+        /**
+         * Background refreshes of stale products which failed, the product being kept.
+         */
+        long refreshFailures;
+
+        /**
+         * Background refreshes of stale products which the API answered are gone, e.g. with 404, the product being
+         * removed.
+         */
+        long refreshRemovals;
+
+        /**
+         * Products evicted to stay within the configured bound, expired products are not counted.
+         */
+        long evictions;
+
+        /**
+         * @return Share of calls served without waiting for the API, fresh or stale.
+         */
+        public double getHitRatio() {
+            long calls = hits + misses + stale;
+            return calls == 0 ? 0.0 : (double) (hits + stale) / calls;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import java.time.Duration;
+
+/**
+ * Product cache configuration, see {@link ProductCache}.
+ * <pre>
+ * ProductCacheConfig.builder()
+ *         .ttl(Duration.ofMinutes(30))
+ *         .maximumSize(2_000)
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class ProductCacheConfig {
+
+    /**
+     * Time a product is served from the cache when no newer version of it has been seen, after which it is loaded
+     * again.
+     */
+    @lombok.Builder.Default
+    private final Duration ttl = Duration.ofHours(1);
+
+    /**
+     * Time past its time to live during which a product is still returned at once, while a single call loads it again
+     * in the background. When positive an outdated product is also returned while loaded again. Zero to load it again
+     * before returning.
+     */
+    @lombok.Builder.Default
+    private final Duration staleWhileRevalidate = Duration.ZERO;
+
+    /**
+     * Time past its time to live during which a product, stale or outdated, is returned when loading it again fails
+     * with a 5xx or 429 status, an I/O error or a client side rejection such as an open circuit. Zero to throw the
+     * error.
+     */
+    @lombok.Builder.Default
+    private final Duration staleIfError = Duration.ZERO;
+
+    /**
+     * Bound of the number of products held, as well as of the number of product versions tracked.
+     */
+    @lombok.Builder.Default
+    private final long maximumSize = 10_000;
+
+    public static ProductCacheConfig defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.trustedchoice.askkodiak.v2.codec.CodecContext;
+import com.trustedchoice.askkodiak.v2.resilience.CallPolicy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the results of rarely changing reference data endpoints, such as NAICS codes and geographies, for a time to
+ * live configured per endpoint, see {@link ReferenceDataCacheConfig}.
+ * <p>
+ * Results are held in a <a href="https://github.com/ben-manes/caffeine">Caffeine</a> cache bounded by weight or size
+ * with Window TinyLFU eviction, which keeps frequently used results over recently used ones. Concurrent calls missing
+ * the same result wait for a single load, made outside of the cache's locks, and share its exception if it fails. A
+ * failed load is not cached. Callers receive the same result object and must not modify it. Requires
+ * {@code com.github.ben-manes.caffeine:caffeine} on the classpath.
+ * <p>
+ * With {@link ReferenceDataCacheConfig#getDirectory()} set results are also persisted, see
+ * {@link ReferenceDataStore}. A result missing from memory is then read from its file if there is one, returned at once
+ * and refreshed from the API in the background, so that a restarted process serves reference data without waiting for
+ * the network.
+ * <p>
+ * Results past their time to live may still be served while they are loaded again, or when the API fails, see
+ * {@link ReferenceDataCacheConfig#getStaleWhileRevalidate()} and {@link ReferenceDataCacheConfig#getStaleIfError()}.
+ * <p>
+ * A single instance may be shared by several clients of the same group, results are not keyed by credentials.
+ */
+public class ReferenceDataCache implements CallPolicy {
+
+    private final ReferenceDataCacheConfig config;
+
+    private final Cache<CallKey, Cached> cache;
+
+    private final StalePolicy stale;
+
+    private final ReferenceDataStore store;
+
+    private final Executor executor;
+
+    private final Ticker ticker;
+
+    private final ConcurrentMap<String, Counters> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Results being loaded, which concurrent calls missing them wait for.
+     */
+    private final ConcurrentMap<CallKey, CompletableFuture<Cached>> loads = new ConcurrentHashMap<>();
+
+    public ReferenceDataCache(ReferenceDataCacheConfig config) {
+        this(config, RefreshExecutor.INSTANCE);
+    }
+
+    /**
+     * @param config   Configuration
+     * @param executor Executor persisting results and refreshing restored ones
+     */
+    public ReferenceDataCache(ReferenceDataCacheConfig config, Executor executor) {
+        this(config, executor, Ticker.systemTicker());
+    }
+
+    /**
+     * @param config   Configuration
+     * @param executor Executor persisting results and refreshing restored ones
+     * @param ticker   Source of time of the results' time to live
+     */
+    ReferenceDataCache(ReferenceDataCacheConfig config, Executor executor, Ticker ticker) {
+        this.config = config;
+        this.executor = executor;
+        this.ticker = ticker;
+        this.stale = new StalePolicy(config.getStaleWhileRevalidate(), config.getStaleIfError());
+        this.store = config.getDirectory() == null
+                ? null
+                : new ReferenceDataStore(config.getDirectory(), config.getMaxPersistedAge(), CodecContext.shared());
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (config.getMaximumSize() > 0) {
+            builder.maximumSize(config.getMaximumSize());
+        } else {
+            builder.maximumWeight(config.getMaximumWeight())
+                    .weigher((CallKey key, Cached value) -> weight(value.getValue()));
+        }
+        this.cache = builder
+                .ticker(ticker)
+                .expireAfter(new Expiry<CallKey, Cached>() {
+                    @Override
+                    public long expireAfterCreate(CallKey key, Cached value, long currentTime) {
+                        return stale.retention(config.ttl(key.getRequestLine()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(CallKey key, Cached value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(CallKey key, Cached value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((CallKey key, Cached value, RemovalCause cause) -> {
+                    if (key != null && cause.wasEvicted() && cause != RemovalCause.EXPIRED) {
+                        counters(key.getRequestLine()).evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Object apply(String requestLine, Method method, Object[] args, Call call) throws Throwable {
+        Duration ttl = config.ttl(requestLine);
+        if (ttl == null) {
+            return call.proceed();
+        }
+        Counters counters = counters(requestLine);
+        CallKey key = CallKey.of(requestLine, method, args);
+        Cached cached = cache.getIfPresent(key);
+        if (cached != null) {
+            switch (stale.freshness(cached, ttl.toNanos(), ticker.read())) {
+                case FRESH:
+                    counters.hits.increment();
+                    return cached.getValue();
+                case REVALIDATE:
+                    counters.stale.increment();
+                    if (cached.startReload()) {
+                        executor.execute(() -> refresh(key, cached, call, counters));
+                    }
+                    return cached.getValue();
+                case IF_ERROR:
+                    if (!cached.startReload()) {
+                        // another call is loading it again
+                        counters.stale.increment();
+                        return cached.getValue();
+                    }
+                    counters.misses.increment();
+                    try {
+                        return reload(key, call, counters);
+                    } catch (Throwable e) {
+                        if (!StalePolicy.servesStale(e)) {
+                            remove(key, cached, counters);
+                            throw e;
+                        }
+                        cached.reloadFailed();
+                        counters.staleIfError.increment();
+                        return cached.getValue();
+                    }
+                default:
+                    break;
+            }
+        }
+
+        CompletableFuture<Cached> load = new CompletableFuture<>();
+        CompletableFuture<Cached> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            counters.hits.increment();
+            return await(running).getValue();
+        }
+        try {
+            Cached current = cache.getIfPresent(key);
+            if (current != null && current != cached) {
+                // loaded by another call since this one missed it
+                counters.hits.increment();
+                load.complete(current);
+                return current.getValue();
+            }
+            // loaded outside of the cache's compute, which must neither block on the network nor schedule work that
+            // updates the cache, e.g. on a direct executor
+            Object restored = restore(key, method, counters);
+            if (restored != null) {
+                counters.restored.increment();
+                Cached restoredResult = new Cached(restored, ticker.read());
+                restoredResult.startReload();
+                cache.put(key, restoredResult);
+                load.complete(restoredResult);
+                executor.execute(() -> refresh(key, restoredResult, call, counters));
+                return restored;
+            }
+            counters.misses.increment();
+            Object result = call.proceed();
+            Cached loaded = new Cached(result, ticker.read());
+            cache.put(key, loaded);
+            load.complete(loaded);
+            persist(key, result, counters);
+            return result;
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    /**
+     * @return Result of a concurrent call's load, which failed with the same exception if it did
+     */
+    private static Cached await(CompletableFuture<Cached> load) throws Throwable {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @return Persisted result of the call, or {@code null} if there is none or it cannot be read
+     */
+    private Object restore(CallKey key, Method method, Counters counters) {
+        if (store == null) {
+            return null;
+        }
+        try {
+            return store.read(key, method.getGenericReturnType());
+        } catch (IOException e) {
+            counters.storeErrors.increment();
+            return null;
+        }
+    }
+
+    private void persist(CallKey key, Object result, Counters counters) {
+        if (store == null) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                store.write(key, result);
+            } catch (IOException e) {
+                counters.storeErrors.increment();
+            }
+        });
+    }
+
+    private Object reload(CallKey key, Call call, Counters counters) throws Throwable {
+        Object result = call.proceed();
+        cache.put(key, new Cached(result, ticker.read()));
+        persist(key, result, counters);
+        return result;
+    }
+
+    /**
+     * Replace a stale or restored result by the API's current one in the background. The result is kept if the call
+     * fails, unless the API answered that it is gone, see {@link StalePolicy#servesStale(Throwable)}.
+     */
+    private void refresh(CallKey key, Cached cached, Call call, Counters counters) {
+        try {
+            reload(key, call, counters);
+        } catch (Error e) {
+            cached.reloadFailed();
+            throw e;
+        } catch (Throwable e) {
+            if (StalePolicy.servesStale(e)) {
+                counters.refreshFailures.increment();
+                cached.reloadFailed();
+            } else {
+                counters.refreshRemovals.increment();
+                remove(key, cached, counters);
+            }
+        }
+    }
+
+    /**
+     * Remove a result the API answered is gone, persisted too so that it is not restored again.
+     */
+    private void remove(CallKey key, Cached cached, Counters counters) {
+        if (!cache.asMap().remove(key, cached) || store == null) {
+            return;
+        }
+        try {
+            store.delete(key);
+        } catch (IOException e) {
+            counters.storeErrors.increment();
+        }
+    }
+
+    /**
+     * Remove every result, including persisted ones, the next call of each is loaded again.
+     *
+     * @throws UncheckedIOException If a persisted result could not be deleted
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        deletePersisted(null);
+    }
+
+    /**
+     * @param requestLine Request line of an endpoint, e.g. {@code GET /v2/ref-data/geos}
+     * @throws UncheckedIOException If a persisted result could not be deleted
+     */
+    public void invalidate(String requestLine) {
+        cache.asMap().keySet().removeIf(key -> key.getRequestLine().equals(requestLine));
+        deletePersisted(requestLine);
+    }
+
+    private void deletePersisted(String requestLine) {
+        if (store != null) {
+            try {
+                store.delete(requestLine);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @return Approximate number of results held.
+     */
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * @return Statistics keyed by endpoint request line
+     */
+    public Map<String, EndpointStats> snapshot() {
+        Map<String, EndpointStats> snapshot = new TreeMap<>();
+        endpoints.forEach((endpoint, counters) -> snapshot.put(endpoint, new EndpointStats(
+                counters.hits.sum(),
+                counters.misses.sum(),
+                counters.restored.sum(),
+                counters.stale.sum(),
+                counters.staleIfError.sum(),
+                counters.refreshFailures.sum(),
+                counters.refreshRemovals.sum(),
+                counters.storeErrors.sum(),
+                counters.evictions.sum())));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    public void resetStats() {
+        endpoints.clear();
+    }
+
+    private Counters counters(String requestLine) {
+        return endpoints.computeIfAbsent(requestLine, key -> new Counters());
+    }
+
+    private static int weight(Object value) {
+        if (value instanceof Map) {
+            return Math.max(1, ((Map<?, ?>) value).size());
+        }
+        if (value instanceof Collection) {
+            return Math.max(1, ((Collection<?>) value).size());
+        }
+        return 1;
+    }
+
+    private static class Counters {
+
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder misses = new LongAdder();
+
+        final LongAdder restored = new LongAdder();
+
+        final LongAdder stale = new LongAdder();
+
+        final LongAdder staleIfError = new LongAdder();
+
+        final LongAdder refreshFailures = new LongAdder();
+
+        final LongAdder refreshRemovals = new LongAdder();
+
+        final LongAdder storeErrors = new LongAdder();
+
+        final LongAdder evictions = new LongAdder();
+    }
+
+    @lombok.Value
+    public static class EndpointStats {
+
+        /**
+         * Calls served from the cache, including those which waited for a concurrent load.
+         */
+        long hits;
+
+        /**
+         * Calls which loaded the result from the API, including those made past the time to live which returned the
+         * stale result on failure.
+         */
+        long misses;
+
+        /**
+         * Calls served a result persisted by an earlier process, then refreshed in the background.
+         */
+        long restored;
+
+        /**
+         * Calls served a result past its time to live while it was loaded again in the background.
+         */
+        long stale;
+
+        /**
+         * Calls served a result past its time to live because loading it again failed.
+         */
+        long staleIfError;
+
+        /**
+         * Background refreshes of stale or restored results which failed, the result being kept.
+         */
+        long refreshFailures;
+
+        /**
+         * Background refreshes of stale or restored results which the API answered are gone, e.g. with 404, the result
+         * being removed.
+         */
+        long refreshRemovals;
+
+        /**
+         * Persisted results which could not be read or written.
+         */
+        long storeErrors;
+
+        /**
+         * Results evicted to stay within the configured bound, expired results are not counted.
+         */
+        long evictions;
+
+        /**
+         * @return Share of calls served without waiting for the API, from memory, stale or persisted results.
+         */
+        public double getHitRatio() {
+            long calls = hits + misses + restored + stale;
+            return calls == 0 ? 0.0 : (double) (hits + restored + stale) / calls;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reference data cache configuration, see {@link ReferenceDataCache}.
+ * <pre>
+ * ReferenceDataCacheConfig.builder()
+ *         .ttl(Duration.ofHours(6))
+ *         .endpointTtls(Collections.singletonMap("GET /v2/ref-data/geos", Duration.ofHours(24)))
+ *         .maximumWeight(500_000)
+ *         .directory(Paths.get("/var/cache/ask-kodiak"))
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class ReferenceDataCacheConfig {
+
+    /**
+     * Request lines of the reference data endpoints cached by default: NAICS codes, sectors, summaries and groups, SIC
+     * codes, business entity types, product codes and geographies.
+     */
+    public static final Set<String> DEFAULT_ENDPOINTS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "GET /v2/naics/codes",
+            "GET /v2/naics/sectors",
+            "GET /v2/naics/summary",
+            "GET /v2/naics/summary/{type}",
+            "GET /v2/naics/group/{groupNumber}",
+            "GET /v2/sic/code/{sic}",
+            "GET /v2/ref-data/business-entity-types",
+            "GET /v2/ref-data/product-codes",
+            "GET /v2/ref-data/geos")));
+
+    /**
+     * Request lines of the endpoints cached for {@link #getTtl()}.
+     */
+    @lombok.Builder.Default
+    private final Set<String> endpoints = DEFAULT_ENDPOINTS;
+
+    /**
+     * Time a result of the {@link #getEndpoints()} is served from the cache before it is loaded again.
+     */
+    @lombok.Builder.Default
+    private final Duration ttl = Duration.ofHours(12);
+
+    /**
+     * Time to live by request line, for endpoints cached with a time other than {@link #getTtl()}, including endpoints
+     * not in {@link #getEndpoints()} such as {@code GET /v2/company/{gid}}.
+     */
+    @lombok.Builder.Default
+    private final Map<String, Duration> endpointTtls = Collections.emptyMap();
+
+    /**
+     * Time past its time to live during which a result is still returned at once, while a single call loads it again
+     * in the background. Zero to load it again before returning.
+     */
+    @lombok.Builder.Default
+    private final Duration staleWhileRevalidate = Duration.ZERO;
+
+    /**
+     * Time past its time to live during which a result is returned when loading it again fails with a 5xx or 429
+     * status, an I/O error or a client side rejection such as an open circuit. Zero to throw the error.
+     */
+    @lombok.Builder.Default
+    private final Duration staleIfError = Duration.ZERO;
+
+    /**
+     * Bound of the total weight of the results held, a map or collection weighing its number of elements and any
+     * other result one. NAICS codes of a single edition weigh a few thousand.
+     */
+    @lombok.Builder.Default
+    private final long maximumWeight = 1_000_000;
+
+    /**
+     * Bound of the number of results held instead of their weight, when positive.
+     */
+    @lombok.Builder.Default
+    private final long maximumSize = 0;
+
+    /**
+     * Directory in which results are also persisted, read back by a restarted process, or {@code null} to hold them
+     * in memory only. May be shared by processes using the same API, but not by clients of different groups.
+     */
+    private final Path directory;
+
+    /**
+     * Age beyond which persisted results are no longer read.
+     */
+    @lombok.Builder.Default
+    private final Duration maxPersistedAge = Duration.ofDays(7);
+
+    public static ReferenceDataCacheConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @param requestLine Request line of an endpoint
+     * @return Time to live of the endpoint's results, or {@code null} if it is not cached
+     */
+    public Duration ttl(String requestLine) {
+        Duration endpointTtl = endpointTtls.get(requestLine);
+        if (endpointTtl != null) {
+            return endpointTtl;
+        }
+        return endpoints.contains(requestLine) ? ttl : null;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.trustedchoice.askkodiak.v2.codec.CodecContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Files of a {@link ReferenceDataCache} persisted in a directory, one per cached call, so that a restarted process
+ * reads its reference data locally instead of fetching it again.
+ * <p>
+ * A file holds a header, the key of the call and the result encoded as JSON:
+ * <pre>
+ * int    magic, "AKRD"
+ * int    format version
+ * long   time written, epoch millis
+ * int    key length, key in UTF-8
+ * int    result length, result as JSON
+ * </pre>
+ * Files are memory mapped and decoded in place, then unmapped at once rather than whenever the garbage collector frees
+ * the buffer, which may keep every file read mapped, and locked against replacement on Windows, for a long time. A
+ * file of another format version, written for another call, or older than the maximum age is ignored. Files are
+ * replaced atomically where the file system supports it, so that processes sharing the directory never read one
+ * partly written.
+ */
+class ReferenceDataStore {
+
+    private static final int MAGIC = 0x414B5244;
+
+    /**
+     * Version of the file layout and of the model classes' JSON, increased whenever either changes incompatibly.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String EXTENSION = ".akrd";
+
+    private static final Consumer<ByteBuffer> UNMAPPER = unmapper();
+
+    private final Path directory;
+
+    private final Duration maxAge;
+
+    private final CodecContext codecs;
+
+    private final ObjectWriter writer;
+
+    ReferenceDataStore(Path directory, Duration maxAge, CodecContext codecs) {
+        this.directory = directory;
+        this.maxAge = maxAge;
+        this.codecs = codecs;
+        this.writer = FieldMapper.of(codecs.getObjectMapper()).writer();
+    }
+
+    /**
+     * @param key  Call
+     * @param type Result type of the call
+     * @return Stored result, or {@code null} if there is none usable
+     * @throws IOException If the file could not be read or decoded
+     */
+    Object read(CallKey key, Type type) throws IOException {
+        Path file = file(key);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            return decode(file, key, type, buffer);
+        } finally {
+            // the result is decoded into objects of its own, nothing reads the buffer any more
+            UNMAPPER.accept(buffer);
+        }
+    }
+
+    private Object decode(Path file, CallKey key, Type type, ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            long written = buffer.getLong();
+            if (System.currentTimeMillis() - written > maxAge.toMillis()) {
+                return null;
+            }
+            byte[] storedKey = new byte[buffer.getInt()];
+            buffer.get(storedKey);
+            if (!key.toString().equals(new String(storedKey, StandardCharsets.UTF_8))) {
+                return null;
+            }
+            int length = buffer.getInt();
+            ByteBuffer result = buffer.slice();
+            result.limit(length);
+            return codecs.reader(type).readValue(new ByteBufferBackedInputStream(result));
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Truncated reference data file " + file, e);
+        }
+    }
+
+    /**
+     * @param key    Call
+     * @param result Result of the call
+     * @throws IOException If the file could not be written
+     */
+    void write(CallKey key, Object result) throws IOException {
+        byte[] storedKey = key.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] json = writer.writeValueAsBytes(result);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(28 + storedKey.length + json.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(storedKey.length);
+            out.write(storedKey);
+            out.writeInt(json.length);
+            out.write(json);
+        }
+
+        Files.createDirectories(directory);
+        Path file = file(key);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @param key Call whose result is deleted
+     * @throws IOException If the file could not be deleted
+     */
+    void delete(CallKey key) throws IOException {
+        Files.deleteIfExists(file(key));
+    }
+
+    /**
+     * @param requestLine Request line of an endpoint, or {@code null} for every endpoint
+     * @throws IOException If a file could not be deleted
+     */
+    void delete(String requestLine) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        String glob = requestLine == null ? "*" + EXTENSION : prefix(requestLine) + "-*" + EXTENSION;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * A readable name from the request line, the hash of the whole key telling apart calls with other arguments. The
+     * key's string is hashed as it is the same in every process.
+     */
+    private Path file(CallKey key) {
+        return directory.resolve(prefix(key.getRequestLine()) + '-' + Integer.toHexString(key.toString().hashCode())
+                + EXTENSION);
+    }
+
+    private static String prefix(String requestLine) {
+        return requestLine.replaceAll("[^A-Za-z0-9]+", "_");
+    }
+
+    /**
+     * Mapped buffers cannot be unmapped through a public API. Java 9 and above unmap them with
+     * {@code Unsafe.invokeCleaner}, Java 8 with the buffer's cleaner. Where neither is accessible buffers are left to
+     * the garbage collector.
+     */
+    private static Consumer<ByteBuffer> unmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8
+        }
+        try {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> invoke(clean, invoke(cleaner, buffer));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return buffer -> {
+            };
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return target == null ? null : method.invoke(target, args);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // unmapping is best effort, the garbage collector still unmaps the buffer
+            return null;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.trustedchoice.askkodiak.v2.codec.SharedBody;
+import com.trustedchoice.askkodiak.v2.transport.Endpoints;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Decorates a {@link Client} to revalidate GET responses with conditional requests, see RFC 7232.
+ * <p>
+ * Successful responses carrying an {@code ETag} or {@code Last-Modified} validator are buffered and stored in an
+ * {@link HttpCache}. Subsequent requests for the same URL send {@code If-None-Match} and {@code If-Modified-Since}, and
+ * a {@code 304 Not Modified} answer is turned back into the stored response. Its body is the same {@link SharedBody},
+ * so with a {@link com.trustedchoice.askkodiak.v2.codec.MemoizingDecoder} the previously decoded object is returned
+ * without transferring or decoding the body again. Responses marked {@code Cache-Control: no-store} are not stored.
+ */
+public class RevalidatingClient implements Client {
+
+    private final Client delegate;
+
+    private final HttpCache cache;
+
+    public RevalidatingClient(Client delegate, HttpCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET || request.body() != null) {
+            return delegate.execute(request, options);
+        }
+        String key = key(request);
+        HttpCache.Entry cached = cache.get(key);
+        if (cached == null) {
+            return store(key, request, delegate.execute(request, options));
+        }
+
+        Response response = delegate.execute(conditional(request, cached), options);
+        HttpCache.Counters counters = cache.counters(Endpoints.requestLine(request));
+        if (response.status() != 304) {
+            counters.modified.increment();
+            return store(key, request, response);
+        }
+        response.close();
+        counters.notModified.increment();
+        counters.bytesSaved.add(cached.getBody() != null ? cached.getBody().length() : 0);
+
+        // a 304 carries the current validators and caching headers of the stored response
+        HttpCache.Entry refreshed = new HttpCache.Entry(
+                first(response, "ETag", cached.getEtag()),
+                first(response, "Last-Modified", cached.getLastModified()),
+                cached.getStatus(),
+                cached.getReason(),
+                merge(cached.getHeaders(), response.headers()),
+                cached.getBody());
+        cache.put(key, refreshed);
+        return response(refreshed, request);
+    }
+
+    private Response store(String key, Request request, Response response) throws IOException {
+        String etag = first(response, "ETag", null);
+        String lastModified = first(response, "Last-Modified", null);
+        if (response.status() != 200 || response.body() == null || (etag == null && lastModified == null)
+                || noStore(response)) {
+            if (response.status() == 200) {
+                cache.remove(key);
+            }
+            return response;
+        }
+        SharedBody body;
+        try (Response.Body original = response.body()) {
+            body = original instanceof SharedBody
+                    ? (SharedBody) original
+                    : new SharedBody(Util.toByteArray(original.asInputStream()));
+        }
+        HttpCache.Entry entry = new HttpCache.Entry(etag, lastModified, response.status(), response.reason(),
+                response.headers(), body);
+        cache.put(key, entry);
+        return response(entry, request);
+    }
+
+    private static Request conditional(Request request, HttpCache.Entry cached) {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        if (cached.getEtag() != null) {
+            headers.put("If-None-Match", Collections.singletonList(cached.getEtag()));
+        }
+        if (cached.getLastModified() != null) {
+            headers.put("If-Modified-Since", Collections.singletonList(cached.getLastModified()));
+        }
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+
+    private static Response response(HttpCache.Entry entry, Request request) {
+        return Response.builder()
+                .status(entry.getStatus())
+                .reason(entry.getReason())
+                .headers(entry.getHeaders())
+                .request(request)
+                .body(entry.getBody())
+                .build();
+    }
+
+    /**
+     * Stored headers updated with those of a 304 response, except those describing the body which a 304 lacks.
+     */
+    private static Map<String, Collection<String>> merge(Map<String, Collection<String>> stored,
+                                                         Map<String, Collection<String>> updated) {
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(stored);
+        updated.forEach((name, values) -> {
+            if (!Util.CONTENT_LENGTH.equalsIgnoreCase(name) && !Util.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+                headers.put(name, values);
+            }
+        });
+        return headers;
+    }
+
+    private static boolean noStore(Response response) {
+        String cacheControl = first(response, "Cache-Control", "");
+        return cacheControl.toLowerCase().contains("no-store");
+    }
+
+    private static String first(Response response, String name, String defaultValue) {
+        for (Map.Entry<String, Collection<String>> header : response.headers().entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Responses differ between groups, the credentials are part of the key.
+     */
+    private static String key(Request request) {
+        Collection<String> authorization = request.headers().get("Authorization");
+        return (authorization != null ? String.join(",", authorization) : "") + ' ' + request.url();
+    }
+}
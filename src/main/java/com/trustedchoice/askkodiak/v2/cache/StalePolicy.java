@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+
+import java.time.Duration;
+
+/**
+ * Serving of cached results past their time to live, after the {@code stale-while-revalidate} and
+ * {@code stale-if-error} extensions of HTTP caching, see RFC 5861.
+ * <p>
+ * For {@code staleWhileRevalidate} after its time to live a result is still returned at once while a single call
+ * loads it again in the background. For {@code staleIfError} after its time to live, a call loading it again which
+ * fails because the API is unavailable, throttling or too slow returns the stale result instead of the error. Both are
+ * disabled when zero.
+ */
+final class StalePolicy {
+
+    enum Freshness {
+
+        /**
+         * Within its time to live.
+         */
+        FRESH,
+
+        /**
+         * Returned while loaded again in the background.
+         */
+        REVALIDATE,
+
+        /**
+         * Loaded again, returned if that fails.
+         */
+        IF_ERROR,
+
+        /**
+         * No longer returned.
+         */
+        EXPIRED
+    }
+
+    private final long whileRevalidate;
+
+    private final long ifError;
+
+    StalePolicy(Duration staleWhileRevalidate, Duration staleIfError) {
+        if (staleWhileRevalidate.isNegative() || staleIfError.isNegative()) {
+            throw new IllegalArgumentException("Stale durations must not be negative");
+        }
+        this.whileRevalidate = staleWhileRevalidate.toNanos();
+        this.ifError = staleIfError.toNanos();
+    }
+
+    /**
+     * @param cached Cached result
+     * @param ttl    Time to live of the result in nanoseconds
+     * @param now    Current time, in nanoseconds of the cache's ticker
+     * @return How the result may be served
+     */
+    Freshness freshness(Cached cached, long ttl, long now) {
+        long stale = cached.age(now) - ttl;
+        if (stale < 0) {
+            return Freshness.FRESH;
+        }
+        if (stale < whileRevalidate) {
+            return Freshness.REVALIDATE;
+        }
+        return stale < ifError ? Freshness.IF_ERROR : Freshness.EXPIRED;
+    }
+
+    /**
+     * @return How a result known to be outdated may be served, whatever its age
+     */
+    Freshness outdated() {
+        if (whileRevalidate > 0) {
+            return Freshness.REVALIDATE;
+        }
+        return ifError > 0 ? Freshness.IF_ERROR : Freshness.EXPIRED;
+    }
+
+    /**
+     * @param ttl Time to live of a result in nanoseconds
+     * @return Time the result must be held, in nanoseconds
+     */
+    long retention(long ttl) {
+        long retention = ttl + Math.max(whileRevalidate, ifError);
+        return retention < 0 ? Long.MAX_VALUE : retention;
+    }
+
+    /**
+     * @return Whether a failure to load a result again lets the stale one be returned: those of the API itself and of
+     * the network, but not answers such as 404 which say the result is gone
+     */
+    static boolean servesStale(Throwable e) {
+        if (e instanceof Error) {
+            return false;
+        }
+        return !(e instanceof AskKodiakException) || ((AskKodiakException) e).isRetryable();
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.trustedchoice.askkodiak.v2.codec.CodecContext;
+import com.trustedchoice.askkodiak.v2.resilience.CallPolicy;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Caches the responses of suggest endpoints, called on every keystroke of a search control, by endpoint, term and
+ * query, see {@link SuggestCacheConfig}. Terms are compared ignoring case and repeated whitespace.
+ * <p>
+ * A response is complete when it reports {@code exhaustiveNbHits} and holds all of its {@code nbHits} hits on its
+ * first page. While typing, the suggestions for a term extending the last word of a term with a complete cached
+ * response, e.g. {@code plumb} after {@code plu}, are derived from those hits without calling the API: the hits in
+ * which every part of the extended word starts a word of their searched text, such as a name, title, description or
+ * code, in the API's order. This matches the API's
+ * prefix search but not its typo tolerance, so when no hit remains the API is called instead.
+ * <p>
+ * Responses are held in a <a href="https://github.com/ben-manes/caffeine">Caffeine</a> cache bounded by size. Callers
+ * receive the same response object for the same call and must not modify it. Requires
+ * {@code com.github.ben-manes.caffeine:caffeine} on the classpath. A single instance may be shared by several clients
+ * of the same group, responses are not keyed by credentials.
+ */
+public class SuggestCache implements CallPolicy {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Attributes of the hits holding searched text. Others, such as hashes, related codes, counts, or the
+     * {@code _highlightResult} and {@code _snippetResult} of the search engine, never make a hit match.
+     */
+    private static final Set<String> SEARCHED_ATTRIBUTES = Collections.unmodifiableSet(new LinkedHashSet<>(
+            Arrays.asList("name", "title", "description", "synonyms", "abbreviation", "country", "code", "path",
+                    "sectorTitle", "subsectorTitle", "industryGroupTitle", "internationalIndustryTitle",
+                    "nationalIndustryTitle")));
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final SuggestCacheConfig config;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<CallKey, Entry> cache;
+
+    private final ConcurrentMap<String, Counters> endpoints = new ConcurrentHashMap<>();
+
+    public SuggestCache(SuggestCacheConfig config) {
+        this.config = config;
+        this.objectMapper = FieldMapper.of(CodecContext.shared().getObjectMapper());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .removalListener((CallKey key, Entry entry, RemovalCause cause) -> {
+                    if (key != null && cause.wasEvicted() && cause != RemovalCause.EXPIRED) {
+                        counters(key.getRequestLine()).evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Object apply(String requestLine, Method method, Object[] args, Call call) throws Throwable {
+        if (!config.getEndpoints().contains(requestLine) || args == null || !(args[0] instanceof String)) {
+            return call.proceed();
+        }
+        Counters counters = counters(requestLine);
+        String term = normalize((String) args[0]);
+        CallKey key = CallKey.of(requestLine, method, args).withArg(0, term);
+
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            counters.hits.increment();
+            return cached.value;
+        }
+        if (config.isDerivePrefixes()) {
+            Object derived = derive(key, term, (String) args[0], method.getReturnType());
+            if (derived != null) {
+                counters.derived.increment();
+                return derived;
+            }
+        }
+
+        counters.misses.increment();
+        Object result = call.proceed();
+        if (result != null) {
+            cache.put(key, entry(result));
+        }
+        return result;
+    }
+
+    /**
+     * Remove every response, the next call of each is sent again.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return Approximate number of responses held.
+     */
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * @return Statistics keyed by endpoint request line
+     */
+    public Map<String, EndpointStats> snapshot() {
+        Map<String, EndpointStats> snapshot = new TreeMap<>();
+        endpoints.forEach((endpoint, counters) -> snapshot.put(endpoint, new EndpointStats(
+                counters.hits.sum(),
+                counters.derived.sum(),
+                counters.misses.sum(),
+                counters.evictions.sum())));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    public void resetStats() {
+        endpoints.clear();
+    }
+
+    private Counters counters(String requestLine) {
+        return endpoints.computeIfAbsent(requestLine, key -> new Counters());
+    }
+
+    /**
+     * @return The response with its tree if it is complete, to derive the suggestions of longer terms from
+     */
+    private Entry entry(Object result) {
+        if (!config.isDerivePrefixes()) {
+            return new Entry(result, null);
+        }
+        ObjectNode tree = objectMapper.valueToTree(result);
+        JsonNode hits = tree.path("hits");
+        boolean complete = tree.path("exhaustiveNbHits").asBoolean(false)
+                && tree.path("page").asInt(0) == 0
+                && hits.isArray()
+                && hits.size() >= tree.path("nbHits").asInt(Integer.MAX_VALUE);
+        return new Entry(result, complete ? tree : null);
+    }
+
+    /**
+     * @return Suggestions derived from the complete response of the longest cached prefix of the term's last word, or
+     * {@code null} if there is none or no hit remains
+     */
+    private Object derive(CallKey key, String term, String originalTerm, Class<?> type) throws Exception {
+        int lastWord = term.lastIndexOf(' ') + 1;
+        for (int end = term.length() - 1; end > lastWord; end--) {
+            Entry prefix = cache.getIfPresent(key.withArg(0, term.substring(0, end)));
+            if (prefix != null && prefix.tree != null) {
+                return filter(prefix.tree, WORD_SEPARATOR.split(term.substring(lastWord)), originalTerm, type);
+            }
+        }
+        return null;
+    }
+
+    private Object filter(ObjectNode tree, String[] parts, String originalTerm, Class<?> type) throws Exception {
+        ArrayNode hits = objectMapper.createArrayNode();
+        for (JsonNode hit : tree.path("hits")) {
+            if (matches(hit, parts)) {
+                hits.add(hit);
+            }
+        }
+        if (hits.size() == 0) {
+            return null;
+        }
+        ObjectNode derived = tree.deepCopy();
+        derived.set("hits", hits);
+        derived.put("nbHits", hits.size());
+        derived.put("nbPages", 1);
+        derived.put("query", originalTerm);
+        derived.put("processingTimeMS", 0L);
+        return objectMapper.treeToValue(derived, type);
+    }
+
+    /**
+     * @return Whether every part of the term starts a word of the hit's text
+     */
+    private static boolean matches(JsonNode hit, String[] parts) {
+        for (String part : parts) {
+            if (!part.isEmpty() && !startsWord(hit, part)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Whether the part starts a word of one of the searched attributes of the hit
+     */
+    private static boolean startsWord(JsonNode hit, String part) {
+        for (String attribute : SEARCHED_ATTRIBUTES) {
+            JsonNode value = hit.path(attribute);
+            if (value.isArray()) {
+                for (JsonNode element : value) {
+                    if (startsWord(element.asText(null), part)) {
+                        return true;
+                    }
+                }
+            } else if (startsWord(value.asText(null), part)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWord(String text, String part) {
+        if (text == null) {
+            return false;
+        }
+        for (String word : WORD_SEPARATOR.split(text)) {
+            if (word.toLowerCase(Locale.ROOT).startsWith(part)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String term) {
+        return WHITESPACE.matcher(term.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A response, with its tree if it is complete.
+     */
+    private static class Entry {
+
+        final Object value;
+
+        final ObjectNode tree;
+
+        Entry(Object value, ObjectNode tree) {
+            this.value = value;
+            this.tree = tree;
+        }
+    }
+
+    private static class Counters {
+
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder derived = new LongAdder();
+
+        final LongAdder misses = new LongAdder();
+
+        final LongAdder evictions = new LongAdder();
+    }
+
+    @lombok.Value
+    public static class EndpointStats {
+
+        /**
+         * Calls served a cached response for the same term.
+         */
+        long hits;
+
+        /**
+         * Calls served suggestions derived from the complete response of a shorter term.
+         */
+        long derived;
+
+        /**
+         * Calls sent to the API.
+         */
+        long misses;
+
+        /**
+         * Responses evicted to stay within the configured bound, expired responses are not counted.
+         */
+        long evictions;
+
+        /**
+         * @return Share of calls served without calling the API.
+         */
+        public double getHitRatio() {
+            long calls = hits + derived + misses;
+            return calls == 0 ? 0.0 : (double) (hits + derived) / calls;
+        }
+    }
+}
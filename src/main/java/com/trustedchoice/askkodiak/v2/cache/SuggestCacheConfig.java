@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Suggest cache configuration, see {@link SuggestCache}.
+ * <pre>
+ * SuggestCacheConfig.builder()
+ *         .ttl(Duration.ofMinutes(30))
+ *         .maximumSize(50_000)
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class SuggestCacheConfig {
+
+    /**
+     * Request lines of the suggest endpoints cached by default: NAICS codes, comprehensive, geographies and product
+     * codes.
+     */
+    public static final Set<String> DEFAULT_ENDPOINTS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "GET /v2/suggest/naics-codes/{term}",
+            "GET /v2/suggest/comprehensive/{term}",
+            "GET /v2/suggest/geos/{term}",
+            "GET /v2/suggest/product-codes/{term}")));
+
+    /**
+     * Request lines of the endpoints cached, each taking the term as its first argument.
+     */
+    @lombok.Builder.Default
+    private final Set<String> endpoints = DEFAULT_ENDPOINTS;
+
+    /**
+     * Time suggestions are served from the cache, or derived from, before they are requested again.
+     */
+    @lombok.Builder.Default
+    private final Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Bound of the number of suggestion responses held.
+     */
+    @lombok.Builder.Default
+    private final long maximumSize = 10_000;
+
+    /**
+     * Whether suggestions for a term may be derived from the complete suggestions of a shorter one, see
+     * {@link SuggestCache}.
+     */
+    @lombok.Builder.Default
+    private final boolean derivePrefixes = true;
+
+    public static SuggestCacheConfig defaults() {
+        return builder().build();
+    }
+}
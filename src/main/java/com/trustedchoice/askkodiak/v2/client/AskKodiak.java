@@ -67,7 +67,7 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/products/user")
-    Products getProductsForUser(@QueryMap UserQuery query) throws AskKodiakException;
+    Products getProductsForUser(@QueryMap(encoded = true) UserQuery query) throws AskKodiakException;
 
     /**
      * Get products eligible a given NAICS code. code can be any valid 2017 NAICS edition:
@@ -140,7 +140,7 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/products/class-code/naics/{code}")
-    Products getProductsEligibleForCode(@Param("code") String code, @QueryMap EligibleQuery query) throws AskKodiakException;
+    Products getProductsEligibleForCode(@Param("code") String code, @QueryMap(encoded = true) EligibleQuery query) throws AskKodiakException;
 
     /**
      * Get products available to your group that are owned by the company represented by the specified group id (gid).
@@ -169,7 +169,7 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/products/company/{gid}")
-    Products getProductsForCompany(@Param("gid") String gid, @QueryMap CompanyQuery query) throws AskKodiakException;
+    Products getProductsForCompany(@Param("gid") String gid, @QueryMap(encoded = true) CompanyQuery query) throws AskKodiakException;
 
     /**
      * Get all products available to the requesting user that match the request options (if any) indexed by companies
@@ -208,7 +208,7 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/products/by-company")
-    CompanyProducts getProductsByCompany(@QueryMap CompanyProductsQuery query) throws AskKodiakException;
+    CompanyProducts getProductsByCompany(@QueryMap(encoded = true) CompanyProductsQuery query) throws AskKodiakException;
 
     /**
      * Get products eligible a given custom classification code in specified classification taxonomy.
@@ -324,7 +324,7 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/product/{id}")
-    Product getProduct(@Param("id") String id, @QueryMap ProductQuery query) throws AskKodiakException;
+    Product getProduct(@Param("id") String id, @QueryMap(encoded = true) ProductQuery query) throws AskKodiakException;
 
     /**
      * Get the eligibility of a product at any level (e.g. sector, subsector, industry-group, international-industry, or
@@ -358,7 +358,7 @@ public interface AskKodiak {
     Map<String, NaicsEligibility> getEligibilityByNaicsType(
             @Param("id") String id,
             @Param("type") String type,
-            @QueryMap NaicsEditionQuery query) throws AskKodiakException;
+            @QueryMap(encoded = true) NaicsEditionQuery query) throws AskKodiakException;
 
     /**
      * Get the eligibility of a product for any valid 2-6 digit NAICS code or computed NAICS Hash combining 6 digit code
@@ -435,7 +435,7 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/product/{id}/conditional-factors")
-    Factors getConditionalFactors(@Param("id") String id, @QueryMap FilterQuery query) throws AskKodiakException;
+    Factors getConditionalFactors(@Param("id") String id, @QueryMap(encoded = true) FilterQuery query) throws AskKodiakException;
 
     /**
      * Get unprocessed conditional rules for the requested product. Please note, this interface exists primarily for
@@ -473,7 +473,7 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/product/{id}/is-eligible")
-    Eligibility getEligibility(@Param("id") String id, @QueryMap FilterQuery filters) throws AskKodiakException;
+    Eligibility getEligibility(@Param("id") String id, @QueryMap(encoded = true) FilterQuery filters) throws AskKodiakException;
 
     /**
      * Render conditional content for the product associated with the specified conditions. Applicable conditional
@@ -487,7 +487,7 @@ public interface AskKodiak {
     @RequestLine("GET /v2/product/{id}/conditional-content")
     ConditionalContent renderConditionalContent(
             @Param("id") String id,
-            @QueryMap FilterQuery filters) throws AskKodiakException;
+            @QueryMap(encoded = true) FilterQuery filters) throws AskKodiakException;
 
 
     /////////////////////////
@@ -520,7 +520,7 @@ public interface AskKodiak {
     @RequestLine("GET /v2/suggest/business-entity-types/{term}")
     BusinessEntityTypeSuggestions getSuggestedBusinessEntityTypes(
             @Param("term") String term,
-            @QueryMap SuggestQuery query) throws AskKodiakException;
+            @QueryMap(encoded = true) SuggestQuery query) throws AskKodiakException;
 
     /**
      * Get suggested naics codes, geos, product codes or business entity types for a search term simultaneously across
@@ -547,7 +547,7 @@ public interface AskKodiak {
     @RequestLine("GET /v2/suggest/comprehensive/{term}")
     ComprehensiveSuggestions getSuggestedComprehensive(
             @Param("term") String term,
-            @QueryMap SuggestQuery query) throws AskKodiakException;
+            @QueryMap(encoded = true) SuggestQuery query) throws AskKodiakException;
 
     /**
      * Get suggested geographies for a search term from the list of platform supported geographies. This interface is
@@ -574,7 +574,7 @@ public interface AskKodiak {
     @RequestLine("GET /v2/suggest/geos/{term}")
     GeoSuggestions getSuggestedGeos(
             @Param("term") String term,
-            @QueryMap SuggestQuery query) throws AskKodiakException;
+            @QueryMap(encoded = true) SuggestQuery query) throws AskKodiakException;
 
     /**
      * Get suggested hashes associated with a search term. Term should be a string, that may describe a business, a
@@ -607,7 +607,7 @@ public interface AskKodiak {
     @RequestLine("GET /v2/suggest/naics-codes/{term}")
     NaicsCodeSuggestions getSuggestedNaicsCodes(
             @Param("term") String term,
-            @QueryMap SuggestQuery query) throws AskKodiakException;
+            @QueryMap(encoded = true) SuggestQuery query) throws AskKodiakException;
 
 
     /**
@@ -626,7 +626,7 @@ public interface AskKodiak {
     @RequestLine("GET /v2/suggest/naics-codes/{term}")
     NaicsCodeSuggestions getSuggestedNaicsCodes(
             @Param("term") String term,
-            @QueryMap NaicsEditionQuery query) throws AskKodiakException;
+            @QueryMap(encoded = true) NaicsEditionQuery query) throws AskKodiakException;
 
     /**
      * Get suggested NAICS 2-6 digit groups for a search term. Term can equal a typo-tolerant string, or NAICS code.
@@ -659,7 +659,7 @@ public interface AskKodiak {
     @RequestLine("GET /v2/suggest/naics-groups/{term}")
     NaicsGroupSuggestions getSuggestedNaicsGroups(
             @Param("term") String term,
-            @QueryMap SuggestQuery query) throws AskKodiakException;
+            @QueryMap(encoded = true) SuggestQuery query) throws AskKodiakException;
 
     /**
      * Get suggested product (coverage) codes for a search term. This interface is designed to be used in a 'suggest'
@@ -684,7 +684,7 @@ public interface AskKodiak {
     @RequestLine("GET /v2/suggest/product-codes/{term}")
     ProductCodeSuggestions getSuggestedProductCodes(
             @Param("term") String term,
-            @QueryMap SuggestQuery query) throws AskKodiakException;
+            @QueryMap(encoded = true) SuggestQuery query) throws AskKodiakException;
 
     /////////////////////////
     // Company APIs
@@ -728,7 +728,7 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/companies")
-    Companies getCompanies(@QueryMap CompaniesQuery query) throws AskKodiakException;
+    Companies getCompanies(@QueryMap(encoded = true) CompaniesQuery query) throws AskKodiakException;
 
     /////////////////////////
     // NAICS APIs
@@ -836,7 +836,7 @@ public interface AskKodiak {
     @RequestLine("GET /v2/naics/summary/{type}")
     Map<String, String> getSummaryForGroupType(
             @Param("type") String type,
-            @QueryMap NaicsEditionQuery query) throws AskKodiakException;
+            @QueryMap(encoded = true) NaicsEditionQuery query) throws AskKodiakException;
 
     /**
      * Get a comprehensive list of all valid naics groups indexed by type (e.g. sector, subsector, industry-group,
@@ -1086,7 +1086,7 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/ref-data/geos")
-    Map<String, Geo> getGeographies(@QueryMap GeographiesQuery query) throws AskKodiakException;
+    Map<String, Geo> getGeographies(@QueryMap(encoded = true) GeographiesQuery query) throws AskKodiakException;
 
     /**
      * Get a list of product codes for use decoding the coded values associated with a product. These are updated on
@@ -1137,7 +1137,7 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/admin/products")
-    Products getProducts(@QueryMap ProductsQuery query) throws AskKodiakException;
+    Products getProducts(@QueryMap(encoded = true) ProductsQuery query) throws AskKodiakException;
 
     /////////////////////////
     // Network APIs
@@ -1152,14 +1152,14 @@ public interface AskKodiak {
      * @throws AskKodiakException error
      */
     @RequestLine("GET /v2/network/trusted-by")
-    CompaniesTrustedBy getCompaniesTrustedBy(@QueryMap CompaniesTrustedBy query) throws AskKodiakException;
+    CompaniesTrustedBy getCompaniesTrustedBy(@QueryMap(encoded = true) CompaniesTrustedBy query) throws AskKodiakException;
 
     /////////////////////////
     // Products API query models
     // https://api.askkodiak.com/doc/v2/#api-Products
     /////////////////////////
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class NaicsEditionQuery {
@@ -1170,7 +1170,7 @@ public interface AskKodiak {
         String naicsEdition;
     }
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class EligibleQuery {
@@ -1355,7 +1355,7 @@ public interface AskKodiak {
         String products;
     }
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class CompanyQuery {
@@ -1551,7 +1551,7 @@ public interface AskKodiak {
 
     }
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class UserQuery {
@@ -1779,7 +1779,7 @@ public interface AskKodiak {
 
     }
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class CompanyProductsQuery {
@@ -1989,7 +1989,7 @@ public interface AskKodiak {
 
     }
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class EligibleClassQuery {
@@ -2055,7 +2055,7 @@ public interface AskKodiak {
     // https://api.askkodiak.com/doc/v2/#api-Product
     /////////////////////////
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class ProductQuery {
@@ -2202,7 +2202,7 @@ public interface AskKodiak {
 
     }
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class FilterQuery {
@@ -2328,7 +2328,7 @@ public interface AskKodiak {
     // https://api.askkodiak.com/doc/v2/#api-Suggest
     /////////////////////////
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class SuggestQuery {
@@ -2368,7 +2368,7 @@ public interface AskKodiak {
     // https://api.askkodiak.com/doc/v2/#api-Company
     /////////////////////////
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class CompaniesQuery {
@@ -2397,7 +2397,7 @@ public interface AskKodiak {
     // https://api.askkodiak.com/doc/v2/#api-Reference_Data
     /////////////////////////
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class GeographiesQuery {
@@ -2424,7 +2424,7 @@ public interface AskKodiak {
     // https://api.askkodiak.com/doc/v2/#api-Admin
     /////////////////////////
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class ProductsQuery {
@@ -2645,7 +2645,7 @@ public interface AskKodiak {
     // https://api.askkodiak.com/doc/v2/#api-Network
     /////////////////////////
 
-    @lombok.Builder
+    @lombok.Builder(toBuilder = true)
     @lombok.Getter
     @lombok.Setter
     class CompaniesTrustedByQuery {
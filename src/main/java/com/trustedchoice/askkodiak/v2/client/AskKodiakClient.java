@@ -25,33 +25,83 @@
 
 package com.trustedchoice.askkodiak.v2.client;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.trustedchoice.askkodiak.v2.interceptor.PlusSignEncodingRequestInterceptor;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.trustedchoice.askkodiak.v2.cache.HttpCache;
+import com.trustedchoice.askkodiak.v2.cache.NegativeCache;
+import com.trustedchoice.askkodiak.v2.cache.ProductCache;
+import com.trustedchoice.askkodiak.v2.cache.ReferenceDataCache;
+import com.trustedchoice.askkodiak.v2.cache.SuggestCache;
+import com.trustedchoice.askkodiak.v2.cache.RevalidatingClient;
+import com.trustedchoice.askkodiak.v2.codec.CodecContext;
+import com.trustedchoice.askkodiak.v2.codec.MemoizingDecoder;
+import com.trustedchoice.askkodiak.v2.codec.QueryEncoder;
+import com.trustedchoice.askkodiak.v2.concurrent.FanOut;
+import com.trustedchoice.askkodiak.v2.concurrent.VirtualThreads;
+import com.trustedchoice.askkodiak.v2.interceptor.AcceptEncodingRequestInterceptor;
+import com.trustedchoice.askkodiak.v2.logging.WireLogger;
+import com.trustedchoice.askkodiak.v2.logging.WireLogging;
+import com.trustedchoice.askkodiak.v2.resilience.BackoffRetryer;
+import com.trustedchoice.askkodiak.v2.resilience.CallPolicies;
+import com.trustedchoice.askkodiak.v2.resilience.CircuitBreakers;
+import com.trustedchoice.askkodiak.v2.resilience.ConcurrencyLimits;
+import com.trustedchoice.askkodiak.v2.resilience.Hedging;
+import com.trustedchoice.askkodiak.v2.resilience.RateLimiter;
+import com.trustedchoice.askkodiak.v2.resilience.RateLimitingClient;
+import com.trustedchoice.askkodiak.v2.resilience.RetryingErrorDecoder;
+import com.trustedchoice.askkodiak.v2.resilience.TimeoutClient;
+import com.trustedchoice.askkodiak.v2.resilience.Timeouts;
+import com.trustedchoice.askkodiak.v2.transport.CoalescingClient;
+import com.trustedchoice.askkodiak.v2.transport.CoalescingStats;
+import com.trustedchoice.askkodiak.v2.transport.CompressionStats;
+import com.trustedchoice.askkodiak.v2.transport.DecompressingClient;
+import com.trustedchoice.askkodiak.v2.transport.PooledTransport;
+import feign.AsyncFeign;
+import feign.Client;
 import feign.Feign;
 import feign.Logger;
+import feign.Request;
 import feign.RequestInterceptor;
+import feign.RequestLine;
 import feign.Response;
 import feign.auth.BasicAuthRequestInterceptor;
+import feign.codec.Decoder;
 import feign.codec.ErrorDecoder;
-import feign.jackson.JacksonDecoder;
-import feign.jackson.JacksonEncoder;
-import feign.slf4j.Slf4jLogger;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AskKodiakClient {
 
     static class AskKodiakErrorDecoder implements ErrorDecoder {
 
-        private ObjectMapper objectMapper = new ObjectMapper();
+        private final ObjectReader reader;
+
+        AskKodiakErrorDecoder(CodecContext codecs) {
+            this.reader = codecs.reader(JsonNode.class);
+        }
 
         @Override
         public Exception decode(String methodKey, Response response) {
             try {
-                JsonNode jsonNode = objectMapper.readTree(response.body().asInputStream());
+                JsonNode jsonNode = reader.readTree(response.body().asInputStream());
                 JsonNode message = jsonNode.get("message");
                 JsonNode code = jsonNode.get("code");
                 if (message != null) {
@@ -68,32 +118,573 @@ public class AskKodiakClient {
         }
     }
 
+    static final String DEFAULT_ENDPOINT = "https://api.askkodiak.com";
+
+    private static final QueryEncoder QUERY_ENCODER = new QueryEncoder();
+
     public static AskKodiak getInstance(String groupId, String apiKey) {
-        return getInstance(groupId, apiKey, "https://api.askkodiak.com");
+        return builder(groupId, apiKey).build();
     }
 
     public static AskKodiak getInstance(String groupId, String apiKey, RequestInterceptor... interceptors) {
-        return getInstance(groupId, apiKey, "https://api.askkodiak.com", interceptors);
+        return builder(groupId, apiKey).requestInterceptors(interceptors).build();
     }
 
     public static AskKodiak getInstance(String groupId,
                                         String apiKey,
                                         String endpoint,
                                         RequestInterceptor... interceptors) {
-        ObjectMapper objectMapper = new ObjectMapper()
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        Feign.Builder builder = Feign.builder()
-                .encoder(new JacksonEncoder(objectMapper))
-                .decoder(new JacksonDecoder(objectMapper))
-                .errorDecoder(new AskKodiakErrorDecoder());
-        if (interceptors != null) {
-            builder.requestInterceptors(Arrays.asList(interceptors));
-        }
-        builder.requestInterceptor(new BasicAuthRequestInterceptor(groupId, apiKey));
-        builder.requestInterceptor(new PlusSignEncodingRequestInterceptor());
-
-        builder.logger(new Slf4jLogger(AskKodiak.class));
-        builder.logLevel(Logger.Level.FULL);
-        return builder.target(AskKodiak.class, endpoint);
+        return builder(groupId, apiKey).endpoint(endpoint).requestInterceptors(interceptors).build();
+    }
+
+    /**
+     * Start building a client with options beyond those available through {@link #getInstance(String, String)}.
+     *
+     * @param groupId Ask Kodiak group id
+     * @param apiKey  Ask Kodiak API key
+     * @return Client builder
+     */
+    public static Builder builder(String groupId, String apiKey) {
+        return new Builder(groupId, apiKey);
+    }
+
+    public static class Builder {
+
+        private final String groupId;
+
+        private final String apiKey;
+
+        private String endpoint = DEFAULT_ENDPOINT;
+
+        private final List<RequestInterceptor> interceptors = new ArrayList<>();
+
+        private Client client;
+
+        private boolean compression;
+
+        private CompressionStats compressionStats;
+
+        private boolean coalescing;
+
+        private CoalescingStats coalescingStats;
+
+        private HttpCache httpCache;
+
+        private RateLimiter rateLimiter;
+
+        private BackoffRetryer retryer;
+
+        private CircuitBreakers circuitBreakers;
+
+        private ConcurrencyLimits concurrencyLimits;
+
+        private Hedging hedging;
+
+        private ReferenceDataCache referenceDataCache;
+
+        private ProductCache productCache;
+
+        private NegativeCache negativeCache;
+
+        private SuggestCache suggestCache;
+
+        private Timeouts timeouts = Timeouts.defaults();
+
+        private WireLogging logging = WireLogging.defaults();
+
+        private ExecutorService executor;
+
+        private CodecContext codecs = CodecContext.shared();
+
+        Builder(String groupId, String apiKey) {
+            this.groupId = groupId;
+            this.apiKey = apiKey;
+        }
+
+        /**
+         * @param endpoint Base URL of the Ask Kodiak API, defaults to https://api.askkodiak.com
+         * @return this builder
+         */
+        public Builder endpoint(String endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        /**
+         * @param interceptors Additional interceptors applied to every request before authentication
+         * @return this builder
+         */
+        public Builder requestInterceptors(RequestInterceptor... interceptors) {
+            if (interceptors != null) {
+                this.interceptors.addAll(Arrays.asList(interceptors));
+            }
+            return this;
+        }
+
+        /**
+         * Execute requests through a pooled transport. The transport is not owned by the client and may be shared
+         * between clients, it is the caller's responsibility to close it.
+         *
+         * @param transport Pooled transport
+         * @return this builder
+         */
+        public Builder transport(PooledTransport transport) {
+            return client(transport.client());
+        }
+
+        /**
+         * Execute requests through an arbitrary Feign client. When not set Feign's default
+         * {@link java.net.HttpURLConnection} based client is used.
+         *
+         * @param client Feign client
+         * @return this builder
+         */
+        public Builder client(Client client) {
+            this.client = client;
+            return this;
+        }
+
+        /**
+         * Request gzip or deflate compressed responses, which are decompressed as they are decoded. Disabled by
+         * default.
+         *
+         * @param compression Whether to request compressed responses
+         * @return this builder
+         */
+        public Builder compression(boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * Request compressed responses and record per endpoint response sizes into the given statistics.
+         *
+         * @param stats Statistics, may be shared between clients
+         * @return this builder
+         */
+        public Builder compression(CompressionStats stats) {
+            this.compressionStats = stats;
+            return compression(true);
+        }
+
+        /**
+         * Let identical concurrent GET requests share a single request in flight and its decoded response, see
+         * {@link CoalescingClient}. Disabled by default. Callers of a coalesced request receive the same response
+         * object and must not modify it.
+         *
+         * @param coalescing Whether to coalesce identical requests
+         * @return this builder
+         */
+        public Builder coalescing(boolean coalescing) {
+            this.coalescing = coalescing;
+            return this;
+        }
+
+        /**
+         * Coalesce identical concurrent requests and record per endpoint hits and misses into the given statistics.
+         *
+         * @param stats Statistics, may be shared between clients
+         * @return this builder
+         */
+        public Builder coalescing(CoalescingStats stats) {
+            this.coalescingStats = stats;
+            return coalescing(true);
+        }
+
+        /**
+         * Store responses carrying an ETag or Last-Modified validator and revalidate them with conditional requests,
+         * see {@link RevalidatingClient}. When the API answers 304 Not Modified the previously decoded object is
+         * returned, callers must not modify it. Disabled by default.
+         *
+         * @param httpCache Response store, may be shared between clients
+         * @return this builder
+         */
+        public Builder httpCache(HttpCache httpCache) {
+            this.httpCache = httpCache;
+            return this;
+        }
+
+        /**
+         * Pace requests with a client side rate limiter which slows down when the API throttles, see
+         * {@link RateLimiter}. Calls which cannot obtain a permit in time fail with a
+         * {@link com.trustedchoice.askkodiak.v2.resilience.RateLimitExceededException}. Disabled by default.
+         *
+         * @param rateLimiter Rate limiter, may be shared between clients to share their permits
+         * @return this builder
+         */
+        public Builder rateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Retry idempotent calls failing with a 5xx or 429 status or an I/O error, with jittered exponential backoff
+         * and a retry budget, see {@link BackoffRetryer}. By default only I/O errors are retried, by Feign's
+         * {@link feign.Retryer.Default}. Applies to clients created by {@link #build()}, asynchronous clients do not
+         * retry.
+         *
+         * @param retryer Retryer, may be shared between clients to share their retry budget
+         * @return this builder
+         */
+        public Builder retryer(BackoffRetryer retryer) {
+            this.retryer = retryer;
+            return this;
+        }
+
+        /**
+         * Guard every endpoint with a circuit breaker, failing calls fast with a
+         * {@link com.trustedchoice.askkodiak.v2.resilience.CircuitOpenException} while the endpoint is failing or slow,
+         * see {@link CircuitBreakers}. Applies to clients created by {@link #build()}.
+         *
+         * @param circuitBreakers Circuit breakers, may be shared between clients
+         * @return this builder
+         */
+        public Builder circuitBreakers(CircuitBreakers circuitBreakers) {
+            this.circuitBreakers = circuitBreakers;
+            return this;
+        }
+
+        /**
+         * Limit the calls in flight per endpoint with adaptive limits, failing calls beyond the limit fast with a
+         * {@link com.trustedchoice.askkodiak.v2.resilience.ConcurrencyLimitExceededException}, see
+         * {@link ConcurrencyLimits}. Applies to clients created by {@link #build()}.
+         *
+         * @param concurrencyLimits Concurrency limits, may be shared between clients
+         * @return this builder
+         */
+        public Builder concurrencyLimits(ConcurrencyLimits concurrencyLimits) {
+            this.concurrencyLimits = concurrencyLimits;
+            return this;
+        }
+
+        /**
+         * Hedge calls to latency critical endpoints which are slower than a percentile of their recent latency with a
+         * second identical call, returning whichever completes first, see {@link Hedging}. Applies to clients created
+         * by {@link #build()}.
+         *
+         * @param hedging Hedging policy, may be shared between clients to share latency measurements and budget
+         * @return this builder
+         */
+        public Builder hedging(Hedging hedging) {
+            this.hedging = hedging;
+            return this;
+        }
+
+        /**
+         * Cache the results of reference data endpoints, such as NAICS codes and geographies, for a time to live per
+         * endpoint, see {@link ReferenceDataCache}. Cached results are shared between callers, who must not modify
+         * them. Applies to clients created by {@link #build()}.
+         *
+         * @param referenceDataCache Cache, may be shared between clients of the same group
+         * @return this builder
+         */
+        public Builder referenceDataCache(ReferenceDataCache referenceDataCache) {
+            this.referenceDataCache = referenceDataCache;
+            return this;
+        }
+
+        /**
+         * Cache products retrieved by id until a product listing shows a newer version of them, see
+         * {@link ProductCache}. Cached products are shared between callers, who must not modify them. Applies to
+         * clients created by {@link #build()}.
+         *
+         * @param productCache Cache, may be shared between clients of the same group
+         * @return this builder
+         */
+        public Builder productCache(ProductCache productCache) {
+            this.productCache = productCache;
+            return this;
+        }
+
+        /**
+         * Answer lookups of ids the API recently reported as not found without sending the request, see
+         * {@link NegativeCache}. Applies to clients created by {@link #build()}.
+         *
+         * @param negativeCache Cache, may be shared between clients of the same group
+         * @return this builder
+         */
+        public Builder negativeCache(NegativeCache negativeCache) {
+            this.negativeCache = negativeCache;
+            return this;
+        }
+
+        /**
+         * Cache the responses of suggest endpoints, deriving those of longer terms from complete responses of shorter
+         * ones while the user types, see {@link SuggestCache}. Applies to clients created by {@link #build()}.
+         *
+         * @param suggestCache Cache, may be shared between clients of the same group
+         * @return this builder
+         */
+        public Builder suggestCache(SuggestCache suggestCache) {
+            this.suggestCache = suggestCache;
+            return this;
+        }
+
+        /**
+         * Set connect and read timeouts per endpoint, e.g. short ones for the suggest endpoints. Endpoints without
+         * their own use Feign's defaults of 10 seconds to connect and 60 seconds to read. Calls made within a
+         * {@link com.trustedchoice.askkodiak.v2.resilience.Deadline} shorten them to the time remaining.
+         *
+         * @param timeouts Timeouts per endpoint
+         * @return this builder
+         */
+        public Builder timeouts(Timeouts timeouts) {
+            this.timeouts = timeouts;
+            return this;
+        }
+
+        /**
+         * Configure wire logging, by default every call is logged at {@link Logger.Level#FULL} (subject to the SLF4J
+         * logger of {@link AskKodiak} being enabled for debug) with the Authorization header redacted.
+         *
+         * @param logging Logging configuration, e.g. {@link WireLogging#disabled()}
+         * @return this builder
+         */
+        public Builder logging(WireLogging logging) {
+            this.logging = logging;
+            return this;
+        }
+
+        /**
+         * Executor running the requests of clients created by {@link #buildAsync()}. When not set a cached pool of
+         * daemon threads is used.
+         *
+         * @param executor Executor service, not shut down by the client
+         * @return this builder
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Execute the requests of clients created by {@link #buildAsync()} on virtual threads, one per request.
+         *
+         * @return this builder
+         * @throws UnsupportedOperationException when the running JVM does not support virtual threads
+         * @see VirtualThreads
+         */
+        public Builder virtualThreads() {
+            return executor(VirtualThreads.newExecutor());
+        }
+
+        /**
+         * Decode and encode with the given Jackson configuration. By default every client shares
+         * {@link CodecContext#shared()}, building each deserializer once for all of them.
+         *
+         * @param codecs Codec context, may be shared between clients
+         * @return this builder
+         */
+        public Builder codecs(CodecContext codecs) {
+            this.codecs = codecs;
+            return this;
+        }
+
+        /**
+         * Warm up the connections and decoding of clients built by this builder, so that their first requests do not
+         * pay for TLS handshakes and for building Jackson deserializers through reflection. Connections are opened
+         * through the configured client or transport with unauthenticated HEAD requests to the endpoint, and left in
+         * its pool. Deserializers are built for the response model of every {@link AskKodiak} method, in the
+         * {@link CodecContext} of the clients, which is shared by all clients by default. Failures to connect are
+         * counted rather than thrown.
+         *
+         * @param warmUp Warm-up configuration, e.g. {@link WarmUp#defaults()}
+         * @return What was warmed up
+         */
+        public WarmUp.Result warmUp(WarmUp warmUp) {
+            long start = System.nanoTime();
+            int models = 0;
+            long decodes = 0;
+            // decoding needs the deserializers, synthetic decodes build them even when not asked to
+            if (warmUp.isDeserializers() || warmUp.getSyntheticDecodes() > 0) {
+                for (Type type : responseTypes()) {
+                    ObjectReader reader = codecs.reader(type);
+                    models++;
+                    String empty = codecs.getObjectMapper().constructType(type).isContainerType() ? "[]" : "{}";
+                    for (int i = 0; i < warmUp.getSyntheticDecodes(); i++) {
+                        try {
+                            reader.readValue(empty);
+                        } catch (IOException e) {
+                            // the decoding path is exercised regardless
+                        }
+                        decodes++;
+                    }
+                }
+            }
+
+            Client client = this.client != null ? this.client : new Client.Default(null, null);
+            Request.Options options = new Request.Options(warmUp.getTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                    warmUp.getTimeout().toMillis(), TimeUnit.MILLISECONDS, true);
+            AtomicInteger opened = new AtomicInteger();
+            List<Callable<Void>> connections = new ArrayList<>();
+            for (int i = 0; i < warmUp.getConnections(); i++) {
+                connections.add(() -> {
+                    Request request = Request.create(Request.HttpMethod.HEAD, endpoint, Collections.emptyMap(), null,
+                            StandardCharsets.UTF_8, null);
+                    try (Response response = client.execute(request, options)) {
+                        opened.incrementAndGet();
+                    } catch (IOException e) {
+                        // counted as a failure
+                    }
+                    return null;
+                });
+            }
+            try {
+                FanOut.invokeAll(WarmUpThreads.INSTANCE, warmUp.getTimeout(), connections);
+            } catch (TimeoutException e) {
+                // connections not opened in time are counted as failures
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new WarmUp.Result(opened.get(), warmUp.getConnections() - opened.get(), models, decodes,
+                    Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        public AskKodiak build() {
+            Feign.Builder builder = Feign.builder()
+                    .encoder(codecs.encoder())
+                    .decoder(decoder())
+                    .queryMapEncoder(QUERY_ENCODER)
+                    .errorDecoder(new AskKodiakErrorDecoder(codecs))
+                    .client(client())
+                    .requestInterceptors(requestInterceptors())
+                    .logger(new WireLogger(AskKodiak.class, logging))
+                    .logLevel(logging.maxLevel());
+            if (retryer != null) {
+                builder.retryer(retryer)
+                        .errorDecoder(new RetryingErrorDecoder(new AskKodiakErrorDecoder(codecs)));
+            }
+            return decorate(builder.target(AskKodiak.class, endpoint));
+        }
+
+        /**
+         * Build a client returning {@link java.util.concurrent.CompletableFuture}s, executing requests on the
+         * configured {@link #executor(ExecutorService)}.
+         *
+         * @return Asynchronous client
+         */
+        public AsyncAskKodiak buildAsync() {
+            AsyncFeign.AsyncBuilder<Void> builder = AsyncFeign.<Void>asyncBuilder()
+                    .encoder(codecs.encoder())
+                    .decoder(decoder())
+                    .queryMapEncoder(QUERY_ENCODER)
+                    .errorDecoder(new AskKodiakErrorDecoder(codecs))
+                    .client(new CancellableAsyncClient(client(), executor != null ? executor : AsyncExecutor.INSTANCE))
+                    .requestInterceptors(requestInterceptors())
+                    .logger(new WireLogger(AsyncAskKodiak.class, logging))
+                    .logLevel(logging.maxLevel());
+            return CancellableAsyncClient.cancellable(builder.target(AsyncAskKodiak.class, endpoint));
+        }
+
+        /**
+         * Apply call policies around the proxy, innermost first: an open circuit rejects calls before they are hedged,
+         * a hedge takes its own concurrency permit, and cached results, cached 404 answers, or cached and derived
+         * suggestions, are served regardless of either.
+         */
+        private AskKodiak decorate(AskKodiak askKodiak) {
+            if (concurrencyLimits != null) {
+                askKodiak = CallPolicies.decorate(AskKodiak.class, askKodiak, concurrencyLimits);
+            }
+            if (hedging != null) {
+                askKodiak = CallPolicies.decorate(AskKodiak.class, askKodiak, hedging);
+            }
+            if (circuitBreakers != null) {
+                askKodiak = CallPolicies.decorate(AskKodiak.class, askKodiak, circuitBreakers);
+            }
+            if (referenceDataCache != null) {
+                askKodiak = CallPolicies.decorate(AskKodiak.class, askKodiak, referenceDataCache);
+            }
+            if (productCache != null) {
+                askKodiak = CallPolicies.decorate(AskKodiak.class, askKodiak, productCache);
+            }
+            if (negativeCache != null) {
+                askKodiak = CallPolicies.decorate(AskKodiak.class, askKodiak, negativeCache);
+            }
+            if (suggestCache != null) {
+                askKodiak = CallPolicies.decorate(AskKodiak.class, askKodiak, suggestCache);
+            }
+            return askKodiak;
+        }
+
+        private static Set<Type> responseTypes() {
+            Set<Type> types = new LinkedHashSet<>();
+            for (Method method : AskKodiak.class.getMethods()) {
+                if (method.isAnnotationPresent(RequestLine.class) && method.getReturnType() != void.class) {
+                    types.add(method.getGenericReturnType());
+                }
+            }
+            return types;
+        }
+
+        private Decoder decoder() {
+            Decoder decoder = codecs.decoder();
+            if (coalescing || httpCache != null) {
+                decoder = new MemoizingDecoder(decoder);
+            }
+            return decoder;
+        }
+
+        private Client client() {
+            Client client = this.client != null ? this.client : new Client.Default(null, null);
+            client = new TimeoutClient(client, timeouts);
+            if (compression) {
+                client = new DecompressingClient(client, compressionStats);
+            }
+            if (rateLimiter != null) {
+                client = new RateLimitingClient(client, rateLimiter);
+            }
+            if (httpCache != null) {
+                client = new RevalidatingClient(client, httpCache);
+            }
+            if (coalescing) {
+                // the endpoint's timeouts also bound calls waiting for an identical request in flight
+                client = new TimeoutClient(new CoalescingClient(client, coalescingStats), timeouts);
+            }
+            return client;
+        }
+
+        private List<RequestInterceptor> requestInterceptors() {
+            List<RequestInterceptor> requestInterceptors = new ArrayList<>(interceptors);
+            if (compression) {
+                requestInterceptors.add(new AcceptEncodingRequestInterceptor());
+            }
+            requestInterceptors.add(new BasicAuthRequestInterceptor(groupId, apiKey));
+            return requestInterceptors;
+        }
+    }
+
+    /**
+     * Runs each warm-up connection on a thread of its own.
+     */
+    private static class WarmUpThreads implements Executor {
+
+        private static final WarmUpThreads INSTANCE = new WarmUpThreads();
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void execute(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ask-kodiak-warm-up-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Default executor of asynchronous clients, created on first use.
+     */
+    private static class AsyncExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ask-kodiak-async-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
     }
 }
@@ -35,4 +35,23 @@ public class AskKodiakException extends RuntimeException {
         this.status = status;
     }
 
+    /**
+     * @param status             HTTP status
+     * @param message            Message
+     * @param writableStackTrace Whether the stack trace is filled in, exceptions thrown often without a request being
+     *                           sent may skip it
+     */
+    protected AskKodiakException(int status, String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.status = status;
+    }
+
+    /**
+     * @return Whether the error is transient and the same call may succeed if retried, i.e. the API was throttling
+     * (429) or failing (5xx).
+     */
+    public boolean isRetryable() {
+        return status == 429 || status >= 500;
+    }
+
 }
@@ -0,0 +1,724 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.client;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.CompaniesQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.CompanyProductsQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.CompanyQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.EligibleClassQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.EligibleQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.FilterQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.GeographiesQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.NaicsEditionQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.ProductQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.ProductsQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.SuggestQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.UserQuery;
+import com.trustedchoice.askkodiak.v2.model.classifications.*;
+import com.trustedchoice.askkodiak.v2.model.company.Companies;
+import com.trustedchoice.askkodiak.v2.model.company.CompaniesTrustedBy;
+import com.trustedchoice.askkodiak.v2.model.company.Company;
+import com.trustedchoice.askkodiak.v2.model.company.CompanyProducts;
+import com.trustedchoice.askkodiak.v2.model.geography.Geo;
+import com.trustedchoice.askkodiak.v2.model.mapping.ClassificationCodeMappings;
+import com.trustedchoice.askkodiak.v2.model.mapping.NaicsCustomMappings;
+import com.trustedchoice.askkodiak.v2.model.mapping.NaicsMappings;
+import com.trustedchoice.askkodiak.v2.model.mapping.SicMappings;
+import com.trustedchoice.askkodiak.v2.model.naics.*;
+import com.trustedchoice.askkodiak.v2.model.product.*;
+import com.trustedchoice.askkodiak.v2.model.referral.Referral;
+import com.trustedchoice.askkodiak.v2.model.suggest.*;
+import feign.Headers;
+import feign.Param;
+import feign.QueryMap;
+import feign.RequestLine;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link AskKodiak}, see {@link AskKodiakClient.Builder#buildAsync()}. Every method mirrors
+ * the {@link AskKodiak} method of the same signature and returns a {@link CompletableFuture} instead of blocking the
+ * calling thread.
+ * <p>
+ * Cancelling a returned future cancels the request: if it has not started yet it is never sent, otherwise the thread
+ * executing it is interrupted. Whether an interrupted request is aborted depends on the transport, requests made
+ * through {@link com.trustedchoice.askkodiak.v2.transport.Http2Transport} are while blocking socket reads of
+ * {@link java.net.HttpURLConnection} run to completion with their result discarded.
+ */
+@Headers({"Content-Type: application/json", "Accept: application/json"})
+public interface AsyncAskKodiak {
+
+    /////////////////////////
+    // Products APIs
+    // https://api.askkodiak.com/doc/v2/#api-Products
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductsForUser(UserQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/products/user")
+    CompletableFuture<Products> getProductsForUser(@QueryMap(encoded = true) UserQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductsEligibleForCode(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/products/class-code/naics/{code}")
+    CompletableFuture<Products> getProductsEligibleForCode(@Param("code") String code);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductsEligibleForCode(String, EligibleQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/products/class-code/naics/{code}")
+    CompletableFuture<Products> getProductsEligibleForCode(@Param("code") String code, @QueryMap(encoded = true) EligibleQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductsForCompany(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/products/company/{gid}")
+    CompletableFuture<Products> getProductsForCompany(@Param("gid") String gid);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductsForCompany(String, CompanyQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/products/company/{gid}")
+    CompletableFuture<Products> getProductsForCompany(@Param("gid") String gid, @QueryMap(encoded = true) CompanyQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductsByCompany(CompanyProductsQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/products/by-company")
+    CompletableFuture<CompanyProducts> getProductsByCompany(@QueryMap(encoded = true) CompanyProductsQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductsEligibleForCustomClassCode(String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/products/class-code/custom/{taxonomyId}/codes/{codeId}")
+    CompletableFuture<Products> getProductsEligibleForCustomClassCode(
+            @Param("taxonomyId") String taxonomyId,
+            @Param("codeId") String codeId);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductsEligibleForCustomClassCode(String, String, EligibleClassQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/products/class-code/custom/{taxonomyId}/codes/{codeId}")
+    CompletableFuture<Products> getProductsEligibleForCustomClassCode(
+            @Param("taxonomyId") String taxonomyId,
+            @Param("codeId") String codeId,
+            EligibleClassQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductsEligibleForCustomClassGroup(String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/products/class-code/custom/{taxonomyId}/groups/{classGroupId}")
+    CompletableFuture<Products> getProductsEligibleForCustomClassGroup(
+            @Param("taxonomyId") String taxonomyId,
+            @Param("classGroupId") String classGroupId);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductsEligibleForCustomClassGroup(String, String, EligibleQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/products/class-code/custom/{taxonomyId}/groups/{classGroupId}")
+    CompletableFuture<Products> getProductsEligibleForCustomClassGroup(
+            @Param("taxonomyId") String taxonomyId,
+            @Param("classGroupId") String classGroupId,
+            EligibleQuery query);
+
+    /////////////////////////
+    // Product APIs
+    // https://api.askkodiak.com/doc/v2/#api-Product
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProduct(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}")
+    CompletableFuture<Product> getProduct(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProduct(String, ProductQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}")
+    CompletableFuture<Product> getProduct(@Param("id") String id, @QueryMap(encoded = true) ProductQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getEligibilityByNaicsType(String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}/eligibility-by-naics-type/{type}")
+    CompletableFuture<Map<String, NaicsEligibility>> getEligibilityByNaicsType(
+            @Param("id") String id,
+            @Param("type") String type);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getEligibilityByNaicsType(String, String, NaicsEditionQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}/eligibility-by-naics-type/{type}")
+    CompletableFuture<Map<String, NaicsEligibility>> getEligibilityByNaicsType(
+            @Param("id") String id,
+            @Param("type") String type,
+            @QueryMap(encoded = true) NaicsEditionQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getEligibilityByCode(String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}/is-eligible-for/{code}")
+    CompletableFuture<NaicsCodeEligibility> getEligibilityByCode(@Param("id") String id, @Param("code") String code);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getConditionalFactors(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}/conditional-factors")
+    CompletableFuture<Factors> getConditionalFactors(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getConditionalFactors(String, FilterQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}/conditional-factors")
+    CompletableFuture<Factors> getConditionalFactors(@Param("id") String id, @QueryMap(encoded = true) FilterQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getConditionalRules(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}/conditional-rules")
+    CompletableFuture<Map<String, Rule>> getConditionalRules(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getFactors(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}/factors")
+    CompletableFuture<Factors> getFactors(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getEligibility(String, FilterQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}/is-eligible")
+    CompletableFuture<Eligibility> getEligibility(@Param("id") String id, @QueryMap(encoded = true) FilterQuery filters);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#renderConditionalContent(String, FilterQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/product/{id}/conditional-content")
+    CompletableFuture<ConditionalContent> renderConditionalContent(
+            @Param("id") String id,
+            @QueryMap(encoded = true) FilterQuery filters);
+
+    /////////////////////////
+    // Suggest APIs
+    // https://api.askkodiak.com/doc/v2/#api-Suggest
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedBusinessEntityTypes(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/business-entity-types/{term}")
+    CompletableFuture<BusinessEntityTypeSuggestions> getSuggestedBusinessEntityTypes(@Param("term") String term);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedBusinessEntityTypes(String, SuggestQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/business-entity-types/{term}")
+    CompletableFuture<BusinessEntityTypeSuggestions> getSuggestedBusinessEntityTypes(
+            @Param("term") String term,
+            @QueryMap(encoded = true) SuggestQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedComprehensive(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/comprehensive/{term}")
+    CompletableFuture<ComprehensiveSuggestions> getSuggestedComprehensive(@Param("term") String term);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedComprehensive(String, SuggestQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/comprehensive/{term}")
+    CompletableFuture<ComprehensiveSuggestions> getSuggestedComprehensive(
+            @Param("term") String term,
+            @QueryMap(encoded = true) SuggestQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedGeos(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/geos/{term}")
+    CompletableFuture<GeoSuggestions> getSuggestedGeos(@Param("term") String term);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedGeos(String, SuggestQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/geos/{term}")
+    CompletableFuture<GeoSuggestions> getSuggestedGeos(@Param("term") String term, @QueryMap(encoded = true) SuggestQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedNaicsCodes(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/naics-codes/{term}")
+    CompletableFuture<NaicsCodeSuggestions> getSuggestedNaicsCodes(@Param("term") String term);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedNaicsCodes(String, SuggestQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/naics-codes/{term}")
+    CompletableFuture<NaicsCodeSuggestions> getSuggestedNaicsCodes(
+            @Param("term") String term,
+            @QueryMap(encoded = true) SuggestQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedNaicsCodes(String, NaicsEditionQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/naics-codes/{term}")
+    CompletableFuture<NaicsCodeSuggestions> getSuggestedNaicsCodes(
+            @Param("term") String term,
+            @QueryMap(encoded = true) NaicsEditionQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedNaicsGroups(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/naics-groups/{term}")
+    CompletableFuture<NaicsGroupSuggestions> getSuggestedNaicsGroups(@Param("term") String term);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedNaicsGroups(String, SuggestQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/naics-groups/{term}")
+    CompletableFuture<NaicsGroupSuggestions> getSuggestedNaicsGroups(
+            @Param("term") String term,
+            @QueryMap(encoded = true) SuggestQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedProductCodes(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/product-codes/{term}")
+    CompletableFuture<ProductCodeSuggestions> getSuggestedProductCodes(@Param("term") String term);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSuggestedProductCodes(String, SuggestQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/suggest/product-codes/{term}")
+    CompletableFuture<ProductCodeSuggestions> getSuggestedProductCodes(
+            @Param("term") String term,
+            @QueryMap(encoded = true) SuggestQuery query);
+
+    /////////////////////////
+    // Company APIs
+    // https://api.askkodiak.com/doc/v2/#api-Company
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getCompany(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/company/{gid}")
+    CompletableFuture<Company> getCompany(@Param("gid") String gid);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getCompanies()}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/companies")
+    CompletableFuture<Companies> getCompanies();
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getCompanies(CompaniesQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/companies")
+    CompletableFuture<Companies> getCompanies(@QueryMap(encoded = true) CompaniesQuery query);
+
+    /////////////////////////
+    // NAICS APIs
+    // https://api.askkodiak.com/doc/v2/#api-NAICS
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getCode(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/naics/code/{hash}")
+    CompletableFuture<NaicsCode> getCode(@Param("hash") String hash);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getCodes()}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/naics/codes")
+    CompletableFuture<Map<String, NaicsCode>> getCodes();
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getDescription(int)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/naics/description/{gid}")
+    CompletableFuture<NaicsDescription> getDescription(@Param("gid") int groupNumber);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getGroup(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/naics/group/{groupNumber}")
+    CompletableFuture<NaicsGroup> getGroup(@Param("groupNumber") String groupNumber);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getPath(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/naics/utils/get-path/{groupNumber}")
+    CompletableFuture<Path> getPath(@Param("groupNumber") String groupNumber);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSectors()}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/naics/sectors")
+    CompletableFuture<Map<String, NaicsGroup>> getSectors();
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSummaryForGroupType(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/naics/summary/{type}")
+    CompletableFuture<Map<String, String>> getSummaryForGroupType(@Param("type") String type);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSummaryForGroupType(String, NaicsEditionQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/naics/summary/{type}")
+    CompletableFuture<Map<String, String>> getSummaryForGroupType(
+            @Param("type") String type,
+            @QueryMap(encoded = true) NaicsEditionQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSummary()}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/naics/summary")
+    CompletableFuture<Map<String, Map<String, String>>> getSummary();
+
+    /////////////////////////
+    // SIC APIs
+    // https://api.askkodiak.com/doc/v2/#api-SIC
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSicCode(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/sic/code/{sic}")
+    CompletableFuture<Sic> getSicCode(@Param("sic") String sic);
+
+    /////////////////////////
+    // Classifications APIs
+    // https://api.askkodiak.com/doc/v2/#api-Classifications
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getTaxonomies(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/classifications/{ownerId}")
+    CompletableFuture<Taxonomies> getTaxonomies(@Param("ownerId") String ownerId);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getTaxonomy(String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/classifications/{ownerId}/{taxonomyId}")
+    CompletableFuture<Taxonomy> getTaxonomy(@Param("ownerId") String ownerId, @Param("taxonomyId") String taxonomyId);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getTaxonomyCodes(String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/classifications/{ownerId}/{taxonomyId}/codes")
+    CompletableFuture<TaxonomyCodes> getTaxonomyCodes(
+            @Param("ownerId") String ownerId,
+            @Param("taxonomyId") String taxonomyId);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getTaxonomyCode(String, String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/classifications/{ownerId}/{taxonomyId}/codes/{codeId}")
+    CompletableFuture<TaxonomyCode> getTaxonomyCode(
+            @Param("ownerId") String ownerId,
+            @Param("taxonomyId") String taxonomyId,
+            @Param("codeId") String codeId);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getTaxonomyCodeMappings(String, String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/classifications/{ownerId}/{taxonomyId}/codes/{codeId}/mappings")
+    CompletableFuture<TaxonomyCodeMappings> getTaxonomyCodeMappings(
+            @Param("ownerId") String ownerId,
+            @Param("taxonomyId") String taxonomyId,
+            @Param("codeId") String codeId);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getClassificationGroups(String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/classifications/{ownerId}/{taxonomyId}/groups")
+    CompletableFuture<ClassificationGroups> getClassificationGroups(
+            @Param("ownerId") String ownerId,
+            @Param("taxonomyId") String taxonomyId);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getClassificationGroup(String, String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/classifications/{ownerId}/{taxonomyId}/codes/{classificationGroupId}")
+    CompletableFuture<ClassificationGroup> getClassificationGroup(
+            @Param("ownerId") String ownerId,
+            @Param("taxonomyId") String taxonomyId,
+            @Param("classificationGroupId") String classificationGroupId);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getClassificationGroupCodes(String, String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/classifications/{ownerId}/{taxonomyId}/groups/{classificationGroupId}/codes")
+    CompletableFuture<ClassificationGroupCodes> getClassificationGroupCodes(
+            @Param("ownerId") String ownerId,
+            @Param("taxonomyId") String taxonomyId,
+            @Param("classificationGroupId") String classificationGroupId);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getTaxonomyProducts(String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/classifications/{ownerId}/{taxonomyId}/products")
+    CompletableFuture<TaxonomyProducts> getTaxonomyProducts(
+            @Param("ownerId") String ownerId,
+            @Param("taxonomyId") String taxonomyId);
+
+    /////////////////////////
+    // Mapping APIs
+    // https://api.askkodiak.com/doc/v2/#api-Mapping
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getAllNaicsForCustomMappings(String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/mapping/naics/classifications/{gid}/{tid}")
+    CompletableFuture<NaicsCustomMappings> getAllNaicsForCustomMappings(
+            @Param("gid") String gid,
+            @Param("tid") String tid);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getNaicsToCustomMappings(String, String, String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/mapping/naics/{naics}/classifications/{gid}/{tid}")
+    CompletableFuture<ClassificationCodeMappings> getNaicsToCustomMappings(
+            @Param("naics") String naics,
+            @Param("gid") String gid,
+            @Param("tid") String tid);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getNaicsToSicMappings(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/mapping/naics/{naics}/sic")
+    CompletableFuture<SicMappings> getNaicsToSicMappings(@Param("naics") String naics);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getSicToNaicsMappings(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/mapping/sic/{sic}/naics")
+    CompletableFuture<NaicsMappings> getSicToNaicsMappings(@Param("sic") String sic);
+
+    /////////////////////////
+    // Reference Data APIs
+    // https://api.askkodiak.com/doc/v2/#api-Reference_Data
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getBusinessEntityTypes()}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/ref-data/business-entity-types")
+    CompletableFuture<Map<String, String>> getBusinessEntityTypes();
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getGeographies(GeographiesQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/ref-data/geos")
+    CompletableFuture<Map<String, Geo>> getGeographies(@QueryMap(encoded = true) GeographiesQuery query);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProductCodes()}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/ref-data/product-codes")
+    CompletableFuture<Map<String, String>> getProductCodes();
+
+    /////////////////////////
+    // Analytics APIs
+    // https://api.askkodiak.com/doc/v2/#api-Reference_Data
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getReferral(String)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/analytics/referral/{id}")
+    CompletableFuture<Referral> getReferral(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getReferrals()}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/analytics/referrals")
+    CompletableFuture<Map<String, Referral>> getReferrals();
+
+    /////////////////////////
+    // Admin APIs
+    // https://api.askkodiak.com/doc/v2/#api-Reference_Data
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getProducts(ProductsQuery)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/admin/products")
+    CompletableFuture<Products> getProducts(@QueryMap(encoded = true) ProductsQuery query);
+
+    /////////////////////////
+    // Network APIs
+    // https://api.askkodiak.com/doc/v2/#api-Network
+    /////////////////////////
+
+    /**
+     * Asynchronous variant of {@link AskKodiak#getCompaniesTrustedBy(CompaniesTrustedBy)}.
+     *
+     * @return Future completed with the response, or exceptionally with an {@link AskKodiakException}
+     */
+    @RequestLine("GET /v2/network/trusted-by")
+    CompletableFuture<CompaniesTrustedBy> getCompaniesTrustedBy(@QueryMap(encoded = true) CompaniesTrustedBy query);
+}
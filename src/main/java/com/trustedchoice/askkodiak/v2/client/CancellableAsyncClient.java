@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.client;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a blocking {@link Client} on an executor, propagating cancellation of the futures returned by an
+ * {@link AsyncAskKodiak} proxy to the task executing the request.
+ * <p>
+ * Feign derives the future handed to the caller from the one returned by the {@link AsyncClient}, so cancelling it
+ * would otherwise leave the request running. {@link #cancellable(AsyncAskKodiak)} wraps the proxy to link the two: a
+ * task which has not started yet is never run, a running task is interrupted.
+ */
+class CancellableAsyncClient implements AsyncClient<Void> {
+
+    /**
+     * Tasks submitted while a proxy method is invoked on the current thread.
+     */
+    private static final ThreadLocal<List<Future<?>>> SUBMITTED = new ThreadLocal<>();
+
+    private final Client client;
+
+    private final ExecutorService executor;
+
+    CancellableAsyncClient(Client client, ExecutorService executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options, Optional<Void> requestContext) {
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(client.execute(request, options));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        List<Future<?>> submitted = SUBMITTED.get();
+        if (submitted != null) {
+            submitted.add(task);
+        }
+        return result;
+    }
+
+    static AsyncAskKodiak cancellable(AsyncAskKodiak delegate) {
+        InvocationHandler handler = (proxy, method, args) -> invoke(delegate, method, args);
+        return (AsyncAskKodiak) Proxy.newProxyInstance(AsyncAskKodiak.class.getClassLoader(),
+                new Class<?>[]{AsyncAskKodiak.class}, handler);
+    }
+
+    private static Object invoke(AsyncAskKodiak delegate, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(delegate, args);
+        }
+        List<Future<?>> submitted = new ArrayList<>(1);
+        CompletableFuture<?> result;
+        SUBMITTED.set(submitted);
+        try {
+            result = (CompletableFuture<?>) method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            SUBMITTED.remove();
+        }
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                submitted.forEach(task -> task.cancel(true));
+            }
+        });
+        return result;
+    }
+}
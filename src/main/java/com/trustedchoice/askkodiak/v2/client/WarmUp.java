@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.client;
+
+import java.time.Duration;
+
+/**
+ * Warm-up configuration, see {@link AskKodiakClient.Builder#warmUp(WarmUp)}.
+ * <pre>
+ * WarmUp.builder()
+ *         .connections(8)
+ *         .syntheticDecodes(50)
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class WarmUp {
+
+    /**
+     * Connections to open concurrently to the endpoint, including the TLS handshake, and leave in the pool.
+     */
+    @lombok.Builder.Default
+    private final int connections = 2;
+
+    /**
+     * Whether to build the Jackson deserializers of every response model ahead of the first request.
+     */
+    @lombok.Builder.Default
+    private final boolean deserializers = true;
+
+    /**
+     * Number of times to decode a synthetic empty response of every model, giving the JIT compiler a chance to
+     * compile the decoding path. Decoding builds the deserializers even if {@link #isDeserializers()} is false. None by
+     * default.
+     */
+    @lombok.Builder.Default
+    private final int syntheticDecodes = 0;
+
+    /**
+     * Time allowed for opening the connections.
+     */
+    @lombok.Builder.Default
+    private final Duration timeout = Duration.ofSeconds(10);
+
+    public static WarmUp defaults() {
+        return builder().build();
+    }
+
+    @lombok.Value
+    public static class Result {
+
+        /**
+         * Connections opened.
+         */
+        int connections;
+
+        /**
+         * Connections which could not be opened.
+         */
+        int connectionFailures;
+
+        /**
+         * Response models whose deserializers were built.
+         */
+        int models;
+
+        /**
+         * Synthetic decodes made.
+         */
+        long decodes;
+
+        /**
+         * Time taken by the warm-up.
+         */
+        Duration elapsed;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import feign.jackson.JacksonEncoder;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Jackson configuration shared by clients: a single {@link ObjectMapper} and an {@link ObjectReader} per model type,
+ * so that deserializers are built through reflection once rather than by every client, e.g. one client per agency API
+ * key.
+ * <p>
+ * Clients use {@link #shared()} unless given another context through
+ * {@link com.trustedchoice.askkodiak.v2.client.AskKodiakClient.Builder#codecs(CodecContext)}. The mapper must not be
+ * reconfigured once clients use it.
+ * <p>
+ * Mappers from {@link #defaultObjectMapper()} decode the models with deserializers generated when the SDK is built,
+ * calling setters directly instead of through reflection.
+ */
+public final class CodecContext {
+
+    private static final Class<?> GENERATED = generated();
+
+    private static final CodecContext SHARED = new CodecContext(defaultObjectMapper());
+
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private final Decoder decoder;
+
+    private final Encoder encoder;
+
+    /**
+     * @param objectMapper Configured mapper, e.g. starting from {@link #defaultObjectMapper()}
+     */
+    public CodecContext(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.decoder = new ReaderDecoder(this);
+        this.encoder = new JacksonEncoder(objectMapper);
+    }
+
+    /**
+     * @return The context of every client not given one of its own
+     */
+    public static CodecContext shared() {
+        return SHARED;
+    }
+
+    /**
+     * A mapper configured for Ask Kodiak responses: unknown properties are ignored and the {@code Optional} returning
+     * getters of the models are never used in place of setters. The models are decoded by streaming deserializers
+     * generated at build time, which read the same JSON the same way as Jackson's reflective bean deserializers.
+     *
+     * @return New mapper
+     */
+    public static ObjectMapper defaultObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(MapperFeature.USE_GETTERS_AS_SETTERS, false);
+        return GENERATED != null ? objectMapper.registerModule(generatedDeserializers()) : objectMapper;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * @param type Model type
+     * @return Reader of the type, its deserializer built on first use
+     */
+    public ObjectReader reader(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = readers.computeIfAbsent(type, key -> objectMapper.readerFor(objectMapper.constructType(key)));
+        }
+        return reader;
+    }
+
+    /**
+     * @return Number of model types with a reader.
+     */
+    public int readerCount() {
+        return readers.size();
+    }
+
+    /**
+     * @return Decoder reading responses with the readers of this context, equivalent to Feign's
+     * {@link feign.jackson.JacksonDecoder}
+     */
+    public Decoder decoder() {
+        return decoder;
+    }
+
+    public Encoder encoder() {
+        return encoder;
+    }
+
+    /**
+     * @return The generated deserializers, compiled separately from this class, or {@code null} when built without
+     * them, e.g. by an IDE compiling the main sources only
+     */
+    private static Class<?> generated() {
+        try {
+            return Class.forName(StreamingDeserializers.GENERATED, false, CodecContext.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static StreamingDeserializers generatedDeserializers() {
+        try {
+            return (StreamingDeserializers) GENERATED.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + GENERATED.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.codec;
+
+import feign.QueryMapEncoder;
+import feign.codec.EncodeException;
+import feign.querymap.FieldQueryMapEncoder;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Encodes the query classes of {@link com.trustedchoice.askkodiak.v2.client.AskKodiak} into query parameters already
+ * percent-encoded, for {@link feign.QueryMap} parameters declared {@code encoded = true}.
+ * <p>
+ * The API expects multiple values of a parameter delimited with a literal "+", e.g. {@code geos=US-MN+CA-ON}, so "+" is
+ * kept as is while every other character outside the RFC 3986 unreserved set is percent-encoded. Values are read
+ * through accessors generated with {@link LambdaMetafactory} from the getters of each class on first use, rather than
+ * by reflecting over its fields on every call. Classes with a field lacking a getter are encoded by Feign's
+ * {@link FieldQueryMapEncoder}, with the same value encoding. Null and empty values are left out of the query.
+ */
+public class QueryEncoder implements QueryMapEncoder {
+
+    private static final ClassValue<List<Property>> PROPERTIES = new ClassValue<List<Property>>() {
+        @Override
+        protected List<Property> computeValue(Class<?> type) {
+            return properties(type);
+        }
+    };
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final FieldQueryMapEncoder fallback = new FieldQueryMapEncoder();
+
+    @Override
+    public Map<String, Object> encode(Object object) {
+        if (object == null) {
+            return Collections.emptyMap();
+        }
+        List<Property> properties = PROPERTIES.get(object.getClass());
+        if (properties == null) {
+            Map<String, Object> encoded = new LinkedHashMap<>();
+            fallback.encode(object).forEach((name, value) -> put(encoded, name, value));
+            return encoded;
+        }
+        Map<String, Object> encoded = new LinkedHashMap<>();
+        for (Property property : properties) {
+            put(encoded, property.name, property.accessor.apply(object));
+        }
+        return encoded;
+    }
+
+    /**
+     * Add a parameter unless its value is null or empty, rather than send it without a value.
+     */
+    private static void put(Map<String, Object> encoded, String name, Object value) {
+        if (value instanceof Optional) {
+            value = ((Optional<?>) value).orElse(null);
+        }
+        if (value == null) {
+            return;
+        }
+        Object encodedValue = encodeValue(value);
+        if (encodedValue instanceof String ? !((String) encodedValue).isEmpty() : !((List<?>) encodedValue).isEmpty()) {
+            encoded.put(name, encodedValue);
+        }
+    }
+
+    /**
+     * @param value Query parameter value
+     * @return The value percent-encoded except for "+", the value itself when nothing needs encoding
+     */
+    static String encode(String value) {
+        int i = 0;
+        while (i < value.length() && keep(value.charAt(i))) {
+            i++;
+        }
+        if (i == value.length()) {
+            return value;
+        }
+        StringBuilder encoded = new StringBuilder(value.length() + 16).append(value, 0, i);
+        for (byte b : value.substring(i).getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if (keep(c)) {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static Object encodeValue(Object value) {
+        if (value instanceof Iterable) {
+            List<String> values = new ArrayList<>();
+            for (Object element : (Iterable<?>) value) {
+                if (element != null && !element.toString().isEmpty()) {
+                    values.add(encode(element.toString()));
+                }
+            }
+            return values;
+        }
+        return encode(value.toString());
+    }
+
+    private static boolean keep(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~' || c == '+';
+    }
+
+    /**
+     * @return Accessors of every instance field, or {@code null} if any lacks an accessible getter
+     */
+    private static List<Property> properties(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<Property> properties = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            Method getter = getter(type, field.getName());
+            if (getter == null) {
+                return null;
+            }
+            try {
+                MethodHandle handle = lookup.unreflect(getter);
+                @SuppressWarnings("unchecked")
+                Function<Object, Object> accessor = (Function<Object, Object>) LambdaMetafactory.metafactory(lookup,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(Object.class, type)).getTarget().invoke();
+                properties.add(new Property(field.getName(), accessor));
+            } catch (Throwable e) {
+                throw new EncodeException("Cannot access " + type.getName() + "." + getter.getName(), e);
+            }
+        }
+        return Collections.unmodifiableList(properties);
+    }
+
+    private static Method getter(Class<?> type, String name) {
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String prefix : new String[]{"get", "is"}) {
+            try {
+                Method method = type.getMethod(prefix + suffix);
+                if (method.getReturnType() != void.class && Modifier.isPublic(type.getModifiers())) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // try the next prefix
+            }
+        }
+        return null;
+    }
+
+    private static class Property {
+
+        final String name;
+
+        final Function<Object, Object> accessor;
+
+        Property(String name, Function<Object, Object> accessor) {
+            this.name = name;
+            this.accessor = accessor;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.codec;
+
+import feign.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A buffered response body which may be handed to several callers, decoded once by {@link MemoizingDecoder} and the
+ * resulting object shared by every response carrying this body.
+ * <p>
+ * Callers receiving a shared object must treat it as read only.
+ */
+public final class SharedBody implements Response.Body {
+
+    private static final Object NULL = new Object();
+
+    private final byte[] data;
+
+    private final ConcurrentMap<Type, Object> decoded = new ConcurrentHashMap<>();
+
+    public SharedBody(byte[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public Integer length() {
+        return data.length;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public InputStream asInputStream() {
+        return new ByteArrayInputStream(data);
+    }
+
+    @Override
+    public Reader asReader(Charset charset) {
+        return new InputStreamReader(asInputStream(), charset);
+    }
+
+    @Override
+    public void close() {
+        // nothing to release, other responses may still read the data
+    }
+
+    /**
+     * Decode this body as the given type, or return the object a previous call decoded.
+     *
+     * @param type    Type to decode to
+     * @param decoder Decodes the body when it has not been decoded to the type yet
+     * @return Decoded object
+     * @throws IOException when decoding failed, subsequent calls try again
+     */
+    Object decode(Type type, Decoding decoder) throws IOException {
+        Object value;
+        try {
+            value = decoded.computeIfAbsent(type, key -> {
+                try {
+                    Object result = decoder.decode();
+                    return result != null ? result : NULL;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return value != NULL ? value : null;
+    }
+
+    @FunctionalInterface
+    interface Decoding {
+        Object decode() throws IOException;
+    }
+}
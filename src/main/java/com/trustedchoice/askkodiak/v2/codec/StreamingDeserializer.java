@@ -0,0 +1,310 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.ContainerDeserializerBase;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base of the deserializers generated for the model classes at build time, see {@code DeserializerGenerator} in
+ * {@code src/codegen}. A generated deserializer streams the properties of an object and calls the model's setters
+ * directly, where Jackson's {@link com.fasterxml.jackson.databind.deser.BeanDeserializer} calls them through
+ * reflection.
+ * <p>
+ * Each generated deserializer wraps the bean deserializer Jackson built for its model. Property values other than
+ * strings, numbers, booleans and lists or maps of those and of models are read by the deserializers Jackson resolved
+ * for them, e.g. honoring {@code @JsonFormat}. Anything but a plain JSON object, such as a {@code null}, an object
+ * wrapped in an array or a polymorphic value, is read by the bean deserializer as well, so that decoding behaves as
+ * without generated deserializers. So is every object of a model if a mapper registers other deserializers for the
+ * property types read directly, e.g. for {@link String}.
+ *
+ * @param <T> Model type
+ */
+abstract class StreamingDeserializer<T> extends StdDeserializer<T>
+        implements ResolvableDeserializer, ContextualDeserializer {
+
+    /**
+     * Reads a list element or map value.
+     */
+    @FunctionalInterface
+    interface ValueReader<V> {
+
+        V read(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer) throws IOException;
+    }
+
+    private final BeanDeserializerBase bean;
+
+    private boolean standard;
+
+    StreamingDeserializer(BeanDeserializerBase bean) {
+        super(bean.getValueType());
+        this.bean = bean;
+    }
+
+    /**
+     * @return New instance of the model
+     */
+    abstract T create();
+
+    /**
+     * Read the value of a property the parser points at into the model.
+     *
+     * @return Whether the property is known
+     */
+    abstract boolean set(T value, String name, JsonParser p, DeserializationContext ctxt) throws IOException;
+
+    /**
+     * Look up the deserializers of the properties, once the bean deserializer is resolved.
+     */
+    abstract void resolveProperties(DeserializationContext ctxt) throws JsonMappingException;
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        bean.resolve(ctxt);
+        standard = true;
+        resolveProperties(ctxt);
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        JsonDeserializer<?> contextual = bean.createContextual(ctxt, property);
+        // annotations of the referencing property changed how the model is read, let Jackson read it
+        return contextual == bean ? this : contextual;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!standard || !p.isExpectedStartObjectToken()) {
+            return (T) bean.deserialize(p, ctxt);
+        }
+        T value = create();
+        p.setCurrentValue(value);
+        for (String name = p.nextFieldName(); name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            if (!set(value, name, p, ctxt)) {
+                // e.g. an alias, or another case if the mapper accepts any
+                SettableBeanProperty property = bean.findProperty(name);
+                if (property != null) {
+                    property.deserializeAndSet(p, ctxt, value);
+                } else {
+                    ctxt.handleUnknownProperty(p, this, value, name);
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(JsonParser p, DeserializationContext ctxt, T intoValue) throws IOException {
+        return (T) ((JsonDeserializer<Object>) bean).deserialize(p, ctxt, intoValue);
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+            throws IOException {
+        return bean.deserializeWithType(p, ctxt, typeDeserializer);
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    /**
+     * @return Deserializer Jackson resolved for the named property
+     */
+    JsonDeserializer<Object> property(String name) {
+        return settable(name).getValueDeserializer();
+    }
+
+    /**
+     * @param deserializer Deserializer of a value the generated code reads directly
+     * @return The deserializer, objects being read by the bean deserializer unless it is Jackson's own
+     */
+    JsonDeserializer<Object> standard(JsonDeserializer<Object> deserializer) {
+        standard &= ClassUtil.isJacksonStdImpl(deserializer);
+        return deserializer;
+    }
+
+    /**
+     * @return The named property, to set properties the generated code cannot set directly
+     */
+    SettableBeanProperty settable(String name) {
+        return bean.findProperty(name);
+    }
+
+    /**
+     * @param container Deserializer of a list or map property
+     * @param type      Canonical name of the element type, if the container reads its elements itself
+     * @return Deserializer of the elements or values of a container
+     */
+    static JsonDeserializer<Object> content(DeserializationContext ctxt, JsonDeserializer<Object> container,
+                                            String type) throws JsonMappingException {
+        JsonDeserializer<Object> content = ((ContainerDeserializerBase<?>) container).getContentDeserializer();
+        return content != null
+                ? content
+                : ctxt.findContextualValueDeserializer(ctxt.getTypeFactory().constructFromCanonical(type), null);
+    }
+
+    static String readString(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer)
+            throws IOException {
+        switch (p.currentTokenId()) {
+            case JsonTokenId.ID_STRING:
+                return p.getText();
+            case JsonTokenId.ID_NULL:
+                return null;
+            default:
+                return (String) deserializer.deserialize(p, ctxt);
+        }
+    }
+
+    static Integer readInteger(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer)
+            throws IOException {
+        switch (p.currentTokenId()) {
+            case JsonTokenId.ID_NUMBER_INT:
+                return p.getIntValue();
+            case JsonTokenId.ID_NULL:
+                return null;
+            default:
+                return (Integer) deserializer.deserialize(p, ctxt);
+        }
+    }
+
+    static Long readLong(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer)
+            throws IOException {
+        switch (p.currentTokenId()) {
+            case JsonTokenId.ID_NUMBER_INT:
+                return p.getLongValue();
+            case JsonTokenId.ID_NULL:
+                return null;
+            default:
+                return (Long) deserializer.deserialize(p, ctxt);
+        }
+    }
+
+    static Boolean readBoolean(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer)
+            throws IOException {
+        switch (p.currentTokenId()) {
+            case JsonTokenId.ID_TRUE:
+                return Boolean.TRUE;
+            case JsonTokenId.ID_FALSE:
+                return Boolean.FALSE;
+            case JsonTokenId.ID_NULL:
+                return null;
+            default:
+                return (Boolean) deserializer.deserialize(p, ctxt);
+        }
+    }
+
+    static Float readFloat(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer)
+            throws IOException {
+        switch (p.currentTokenId()) {
+            case JsonTokenId.ID_NUMBER_INT:
+            case JsonTokenId.ID_NUMBER_FLOAT:
+                return p.getFloatValue();
+            case JsonTokenId.ID_NULL:
+                return null;
+            default:
+                return (Float) deserializer.deserialize(p, ctxt);
+        }
+    }
+
+    static Double readDouble(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer)
+            throws IOException {
+        switch (p.currentTokenId()) {
+            case JsonTokenId.ID_NUMBER_INT:
+            case JsonTokenId.ID_NUMBER_FLOAT:
+                return p.getDoubleValue();
+            case JsonTokenId.ID_NULL:
+                return null;
+            default:
+                return (Double) deserializer.deserialize(p, ctxt);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> V readObject(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer)
+            throws IOException {
+        return (V) (p.hasToken(JsonToken.VALUE_NULL)
+                ? deserializer.getNullValue(ctxt)
+                : deserializer.deserialize(p, ctxt));
+    }
+
+    /**
+     * Read a list into an {@link ArrayList}, as Jackson does for properties declared as {@link List}.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> List<E> readList(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> list,
+                                JsonDeserializer<Object> element, ValueReader<E> reader) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            return readObject(p, ctxt, list);
+        }
+        List<E> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(reader.read(p, ctxt, element));
+        }
+        return values;
+    }
+
+    /**
+     * Read a map with string keys into a {@link LinkedHashMap}, as Jackson does for properties declared as
+     * {@link Map}.
+     */
+    static <V> Map<String, V> readMap(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> map,
+                                      JsonDeserializer<Object> value, ValueReader<V> reader) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return readObject(p, ctxt, map);
+        }
+        Map<String, V> values = new LinkedHashMap<>();
+        for (String key = p.nextFieldName(); key != null; key = p.nextFieldName()) {
+            p.nextToken();
+            values.put(key, reader.read(p, ctxt, value));
+        }
+        return values;
+    }
+}
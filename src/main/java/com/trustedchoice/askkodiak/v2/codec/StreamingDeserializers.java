@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.codec;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Module replacing the bean deserializers of the model classes with their generated {@link StreamingDeserializer}s.
+ * The generated subclass adds one per model, {@link CodecContext#defaultObjectMapper()} registers it when it is on the
+ * classpath.
+ */
+abstract class StreamingDeserializers extends SimpleModule {
+
+    static final String GENERATED = "com.trustedchoice.askkodiak.v2.codec.GeneratedDeserializers";
+
+    private final Map<Class<?>, Function<BeanDeserializerBase, StreamingDeserializer<?>>> deserializers =
+            new HashMap<>();
+
+    StreamingDeserializers() {
+        super("ask-kodiak-streaming-deserializers");
+        setDeserializerModifier(new BeanDeserializerModifier() {
+
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config,
+                                                          BeanDescription beanDesc,
+                                                          JsonDeserializer<?> deserializer) {
+                Function<BeanDeserializerBase, StreamingDeserializer<?>> factory =
+                        deserializers.get(beanDesc.getBeanClass());
+                // only plain bean deserializers, e.g. not those of a builder or another module
+                return factory != null && deserializer.getClass() == BeanDeserializer.class
+                        ? factory.apply((BeanDeserializerBase) deserializer)
+                        : deserializer;
+            }
+        });
+    }
+
+    <T> void add(Class<T> type, Function<BeanDeserializerBase, StreamingDeserializer<T>> factory) {
+        deserializers.put(type, factory::apply);
+    }
+
+    /**
+     * @return Model classes with a generated deserializer
+     */
+    Set<Class<?>> types() {
+        return Collections.unmodifiableSet(deserializers.keySet());
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Structured fan-out of blocking calls: tasks forked in a scope run concurrently, the first failure cancels the
+ * remaining tasks, and every task shares the scope's deadline.
+ * <pre>{@code
+ * try (FanOut scope = FanOut.open(VirtualThreads.newExecutor(), Duration.ofSeconds(2))) {
+ *     FanOut.Task<Products> bop = scope.fork(() -> askKodiak.getProductsEligibleForCode("722511"));
+ *     FanOut.Task<Products> work = scope.fork(() -> askKodiak.getProductsEligibleForCode("238220"));
+ *     scope.join();
+ *     return merge(bop.get(), work.get());
+ * }
+ * }</pre>
+ * Tasks are cancelled by interrupting the thread running them. Whether a request in flight is aborted depends on the
+ * transport, blocking socket reads are only interruptible on virtual threads and with NIO based clients.
+ * <p>
+ * A scope is owned by the thread that opened it, {@link #fork(Callable)} and {@link #join()} must not be called
+ * concurrently.
+ */
+public final class FanOut implements AutoCloseable {
+
+    private final Executor executor;
+
+    private final long deadline;
+
+    private final List<Execution<?>> executions = new ArrayList<>();
+
+    // not synchronized, to not pin the joining thread when it is virtual
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    private int pending;
+
+    private Throwable failure;
+
+    private boolean closed;
+
+    private FanOut(Executor executor, Duration timeout) {
+        this.executor = executor;
+        this.deadline = timeout != null ? System.nanoTime() + timeout.toNanos() : 0;
+    }
+
+    /**
+     * Open a scope without a deadline.
+     *
+     * @param executor Executor running forked tasks, e.g. {@link VirtualThreads#newExecutor()}
+     * @return Scope, to be closed by the caller
+     */
+    public static FanOut open(Executor executor) {
+        return new FanOut(executor, null);
+    }
+
+    /**
+     * Open a scope whose tasks must all complete within the given timeout.
+     *
+     * @param executor Executor running forked tasks, e.g. {@link VirtualThreads#newExecutor()}
+     * @param timeout  Time from now after which {@link #join()} fails and unfinished tasks are cancelled
+     * @return Scope, to be closed by the caller
+     */
+    public static FanOut open(Executor executor, Duration timeout) {
+        return new FanOut(executor, timeout);
+    }
+
+    /**
+     * Run every call concurrently and collect their results in order, cancelling the others when one fails.
+     *
+     * @param executor Executor running the calls
+     * @param timeout  Shared deadline for all calls, or {@code null} for none
+     * @param calls    Calls to run
+     * @param <T>      Result type
+     * @return Results, in the order of the calls
+     * @throws InterruptedException when interrupted while waiting
+     * @throws TimeoutException     when the calls did not all complete within the timeout
+     */
+    public static <T> List<T> invokeAll(Executor executor,
+                                        Duration timeout,
+                                        List<? extends Callable<? extends T>> calls)
+            throws InterruptedException, TimeoutException {
+        try (FanOut scope = open(executor, timeout)) {
+            List<Task<? extends T>> forked = new ArrayList<>(calls.size());
+            for (Callable<? extends T> call : calls) {
+                forked.add(scope.fork(call));
+            }
+            scope.join();
+            List<T> results = new ArrayList<>(forked.size());
+            for (Task<? extends T> task : forked) {
+                results.add(task.get());
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Start running a call in this scope.
+     *
+     * @param call Call to run, typically a single {@link com.trustedchoice.askkodiak.v2.client.AskKodiak} request
+     * @param <T>  Result type
+     * @return Handle to obtain the result once {@link #join()} returned
+     * @throws IllegalStateException when the scope has been closed or has already failed
+     */
+    public <T> Task<T> fork(Callable<T> call) {
+        Execution<T> execution = new Execution<>(call);
+        lock.lock();
+        try {
+            if (closed || failure != null) {
+                throw new IllegalStateException("Scope is closed");
+            }
+            executions.add(execution);
+            pending++;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            executor.execute(execution);
+        } catch (RuntimeException e) {
+            execution.setException(e);
+        }
+        return new Task<>(execution);
+    }
+
+    /**
+     * Wait for every forked task to complete.
+     * <p>
+     * When a task fails the other tasks are cancelled and its exception is rethrown, as is when unchecked (such as an
+     * {@link com.trustedchoice.askkodiak.v2.client.AskKodiakException}) or wrapped in a {@link CompletionException}
+     * when checked.
+     *
+     * @throws InterruptedException when interrupted while waiting, unfinished tasks are cancelled
+     * @throws TimeoutException     when the deadline passed, unfinished tasks are cancelled
+     */
+    public void join() throws InterruptedException, TimeoutException {
+        Throwable failed;
+        lock.lock();
+        try {
+            while (pending > 0 && failure == null) {
+                if (deadline == 0) {
+                    changed.await();
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        cancelAll();
+                        throw new TimeoutException("Fan-out did not complete before its deadline");
+                    }
+                    changed.awaitNanos(remaining);
+                }
+            }
+            failed = failure;
+        } catch (InterruptedException e) {
+            cancelAll();
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+        if (failed != null) {
+            cancelAll();
+            if (failed instanceof RuntimeException) {
+                throw (RuntimeException) failed;
+            }
+            if (failed instanceof Error) {
+                throw (Error) failed;
+            }
+            throw new CompletionException(failed);
+        }
+    }
+
+    /**
+     * Close the scope, cancelling any task still running. Does not wait for cancelled tasks to stop.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        List<Execution<?>> running;
+        lock.lock();
+        try {
+            running = new ArrayList<>(executions);
+        } finally {
+            lock.unlock();
+        }
+        for (Execution<?> execution : running) {
+            execution.cancel(true);
+        }
+    }
+
+    private void completed(Execution<?> execution) {
+        lock.lock();
+        try {
+            pending--;
+            if (failure == null && !execution.isCancelled()) {
+                try {
+                    execution.get();
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
+                } catch (InterruptedException | CancellationException e) {
+                    // unreachable, the task is done and not cancelled
+                }
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Handle to the result of a task forked in a {@link FanOut} scope.
+     *
+     * @param <T> Result type
+     */
+    public static final class Task<T> {
+
+        private final FutureTask<T> future;
+
+        private Task(FutureTask<T> future) {
+            this.future = future;
+        }
+
+        /**
+         * @return Whether the task completed, successfully or not.
+         */
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        /**
+         * @return Result of the task, once {@link #join()} returned normally
+         * @throws IllegalStateException when the task did not complete successfully
+         */
+        public T get() {
+            if (!future.isDone() || future.isCancelled()) {
+                throw new IllegalStateException("Task has not completed");
+            }
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Task failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private class Execution<T> extends FutureTask<T> {
+
+        Execution(Callable<T> call) {
+            super(call);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            super.setException(t);
+        }
+
+        @Override
+        protected void done() {
+            completed(this);
+        }
+    }
+}
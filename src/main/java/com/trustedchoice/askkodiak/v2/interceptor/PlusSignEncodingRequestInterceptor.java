@@ -38,7 +38,11 @@ import java.util.stream.Collectors;
  * The AskKodiak API expects good number of parameters to be delimited with a "+".
  * When a request URL is encoded by replacing "+" with "%2B", then the API does not return results as expected.
  * This {@link RequestInterceptor} converts occurrences of "%2B" back to "+"
+ *
+ * @deprecated Clients encode their query classes with {@link com.trustedchoice.askkodiak.v2.codec.QueryEncoder}, which
+ * keeps "+" as is, and no longer install this interceptor. Only needed for queries added by custom interceptors.
  */
+@Deprecated
 public class PlusSignEncodingRequestInterceptor implements RequestInterceptor {
 
     @Override
@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.logging;
+
+import com.trustedchoice.askkodiak.v2.codec.SharedBody;
+import feign.Request;
+import feign.Response;
+import feign.slf4j.Slf4jLogger;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SLF4J backed Feign logger applying a {@link WireLogging} configuration: per endpoint levels, sampling and header
+ * redaction.
+ * <p>
+ * Feign hands every call the single level the client was built with, see {@link WireLogging#maxLevel()}, this logger
+ * narrows it per call. Calls resolving to {@link Level#NONE} return the response untouched so its body is not copied.
+ */
+public class WireLogger extends Slf4jLogger {
+
+    private static final Collection<String> REDACTED = Collections.singletonList("<redacted>");
+
+    private final WireLogging config;
+
+    private final Set<String> redactedHeaders;
+
+    private final ConcurrentMap<String, Level> levels = new ConcurrentHashMap<>();
+
+    public WireLogger(Class<?> clazz, WireLogging config) {
+        super(clazz);
+        this.config = config;
+        this.redactedHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        this.redactedHeaders.addAll(config.getRedactedHeaders());
+    }
+
+    @Override
+    protected void logRequest(String configKey, Level logLevel, Request request) {
+        Level level = level(configKey, request);
+        if (level != Level.NONE) {
+            super.logRequest(configKey, level, level.ordinal() >= Level.HEADERS.ordinal() ? redact(request) : request);
+        }
+    }
+
+    @Override
+    protected Response logAndRebufferResponse(String configKey,
+                                              Level logLevel,
+                                              Response response,
+                                              long elapsedTime) throws IOException {
+        Level level = level(configKey, response.request());
+        if (level == Level.NONE) {
+            return response;
+        }
+        Response logged = super.logAndRebufferResponse(configKey, level, response, elapsedTime);
+        if (response.body() instanceof SharedBody && logged != response) {
+            // keep the shared body, rather than the copy logging made, so that it is still decoded only once
+            return logged.toBuilder().body(response.body()).build();
+        }
+        return logged;
+    }
+
+    @Override
+    protected void logRetry(String configKey, Level logLevel) {
+        Level level = level(configKey);
+        if (level != Level.NONE) {
+            super.logRetry(configKey, level);
+        }
+    }
+
+    @Override
+    protected IOException logIOException(String configKey, Level logLevel, IOException ioe, long elapsedTime) {
+        Level level = level(configKey);
+        if (level != Level.NONE) {
+            return super.logIOException(configKey, level, ioe, elapsedTime);
+        }
+        return ioe;
+    }
+
+    /**
+     * The level for an endpoint, ignoring sampling.
+     */
+    private Level level(String configKey) {
+        return levels.computeIfAbsent(configKey, key -> config.levelFor(methodName(key)));
+    }
+
+    /**
+     * The level for a single call. Sampling is derived from the identity of the request, which Feign passes to both
+     * the request and response log, so that a call is logged either in full or not at all without keeping state.
+     */
+    private Level level(String configKey, Request request) {
+        Level level = level(configKey);
+        if (level == Level.NONE || !sampled(request)) {
+            return Level.NONE;
+        }
+        return level;
+    }
+
+    private boolean sampled(Request request) {
+        double rate = config.getSampleRate();
+        if (rate >= 1.0 || request == null) {
+            return rate > 0;
+        }
+        // spread the identity hash over [0, 1)
+        long hash = (System.identityHashCode(request) * 0x9E3779B9L) & 0xFFFFFFFFL;
+        return hash < rate * 0x100000000L;
+    }
+
+    private Request redact(Request request) {
+        boolean redact = false;
+        for (String header : request.headers().keySet()) {
+            if (redactedHeaders.contains(header)) {
+                redact = true;
+                break;
+            }
+        }
+        if (!redact) {
+            return request;
+        }
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        request.headers().forEach((name, values) -> headers.put(name, redactedHeaders.contains(name) ? REDACTED : values));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+
+    /**
+     * Extracts the method name from a Feign config key such as {@code AskKodiak#getProduct(String)}.
+     */
+    static String methodName(String configKey) {
+        int start = configKey.indexOf('#') + 1;
+        int end = configKey.indexOf('(', start);
+        return end < 0 ? configKey.substring(start) : configKey.substring(start, end);
+    }
+}
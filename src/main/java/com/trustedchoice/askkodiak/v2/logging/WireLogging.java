@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.logging;
+
+import feign.Logger;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Wire logging configuration for a client, see {@link WireLogger}.
+ * <p>
+ * Levels follow Feign's {@link Logger.Level}. A client wide level applies to every endpoint unless overridden for the
+ * endpoint by name of the {@link com.trustedchoice.askkodiak.v2.client.AskKodiak} method, e.g.
+ * <pre>
+ * WireLogging.builder()
+ *         .level(Logger.Level.BASIC)
+ *         .endpointLevel("getProductsEligibleForCode", Logger.Level.NONE)
+ *         .sampleRate(0.01)
+ *         .build();
+ * </pre>
+ * When every level resolves to {@link Logger.Level#NONE} logging is switched off in Feign altogether and response
+ * bodies stream straight to the decoder. Only {@link Logger.Level#FULL} buffers response bodies, and only for calls
+ * which are both sampled and logged by an SLF4J logger with debug enabled.
+ */
+@lombok.Builder
+@lombok.Getter
+public class WireLogging {
+
+    /**
+     * Level applied to endpoints without an override.
+     */
+    @lombok.Builder.Default
+    private final Logger.Level level = Logger.Level.FULL;
+
+    /**
+     * Per endpoint levels keyed by {@link com.trustedchoice.askkodiak.v2.client.AskKodiak} method name. Overloads
+     * share the same level.
+     */
+    @lombok.Singular
+    private final Map<String, Logger.Level> endpointLevels;
+
+    /**
+     * Fraction of calls logged, between 0 and 1. The request and response of a call are either both logged or both
+     * skipped.
+     */
+    @lombok.Builder.Default
+    private final double sampleRate = 1.0;
+
+    /**
+     * Request headers whose values are replaced before logging, case insensitive. Defaults to Authorization which
+     * carries the API key.
+     */
+    @lombok.Builder.Default
+    private final Set<String> redactedHeaders = defaultRedactedHeaders();
+
+    public static WireLogging defaults() {
+        return WireLogging.builder().build();
+    }
+
+    public static WireLogging disabled() {
+        return WireLogging.builder().level(Logger.Level.NONE).build();
+    }
+
+    /**
+     * @param method Name of the {@link com.trustedchoice.askkodiak.v2.client.AskKodiak} method
+     * @return The level configured for the endpoint
+     */
+    public Logger.Level levelFor(String method) {
+        return endpointLevels.getOrDefault(method, level);
+    }
+
+    /**
+     * @return The most verbose level of any endpoint, which is the level Feign has to be configured with
+     */
+    public Logger.Level maxLevel() {
+        if (sampleRate <= 0) {
+            return Logger.Level.NONE;
+        }
+        Logger.Level max = level;
+        for (Logger.Level endpointLevel : endpointLevels.values()) {
+            if (endpointLevel.compareTo(max) > 0) {
+                max = endpointLevel;
+            }
+        }
+        return max;
+    }
+
+    private static Set<String> defaultRedactedHeaders() {
+        Set<String> headers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        headers.add("Authorization");
+        return Collections.unmodifiableSet(headers);
+    }
+}
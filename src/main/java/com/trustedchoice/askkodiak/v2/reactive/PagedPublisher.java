@@ -0,0 +1,256 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Cold {@link Publisher} emitting the items of a paged endpoint, fetching pages on demand.
+ * <p>
+ * Each subscription walks the pages from the first page independently. A page is only requested when the items
+ * already buffered cannot satisfy the outstanding demand, and no more than {@code maxPages} pages (including one being
+ * fetched) are held at any time, so memory use is bounded regardless of how many pages the endpoint returns.
+ *
+ * @param <P> Page type, e.g. {@link com.trustedchoice.askkodiak.v2.model.product.Products}
+ * @param <T> Item type, e.g. {@link com.trustedchoice.askkodiak.v2.model.product.Product}
+ */
+class PagedPublisher<P, T> implements Publisher<T> {
+
+    private final IntFunction<P> fetch;
+
+    private final Function<P, List<T>> items;
+
+    private final Function<P, Integer> pageCount;
+
+    private final int firstPage;
+
+    private final Executor executor;
+
+    private final int maxPages;
+
+    /**
+     * @param fetch     Fetches a page by its zero-based number, blocking
+     * @param items     Extracts the items of a page
+     * @param pageCount Extracts the total number of pages, which may be {@code null} if unknown
+     * @param firstPage Number of the first page to fetch
+     * @param executor  Executor on which pages are fetched
+     * @param maxPages  Maximum number of pages held in memory per subscription
+     */
+    PagedPublisher(IntFunction<P> fetch,
+                   Function<P, List<T>> items,
+                   Function<P, Integer> pageCount,
+                   int firstPage,
+                   Executor executor,
+                   int maxPages) {
+        if (maxPages < 1) {
+            throw new IllegalArgumentException("maxPages must be positive");
+        }
+        this.fetch = fetch;
+        this.items = items;
+        this.pageCount = pageCount;
+        this.firstPage = firstPage;
+        this.executor = executor;
+        this.maxPages = maxPages;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    private class PageSubscription implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * Fetched pages not yet emitted, written by fetch tasks.
+         */
+        private final Queue<List<T>> pages = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Number of items in {@link #pages} and {@link #current}.
+         */
+        private final AtomicLong buffered = new AtomicLong();
+
+        private volatile boolean fetching;
+
+        private volatile boolean exhausted;
+
+        private volatile Throwable error;
+
+        private volatile boolean cancelled;
+
+        // only accessed while draining
+        private Iterator<T> current = Collections.emptyIterator();
+
+        private int nextPage = firstPage;
+
+        private boolean terminated;
+
+        PageSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Rule 3.9: non-positive request " + n);
+            } else {
+                requested.getAndUpdate(r -> r + n < 0 ? Long.MAX_VALUE : r + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!terminated) {
+                    emit();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            long emitted = 0;
+            long demand = requested.get();
+            while (!cancelled) {
+                if (error != null) {
+                    terminate();
+                    subscriber.onError(error);
+                    return;
+                }
+                if (!current.hasNext()) {
+                    List<T> page = pages.poll();
+                    if (page != null) {
+                        current = page.iterator();
+                        continue;
+                    }
+                    if (exhausted && !fetching) {
+                        if (!pages.isEmpty()) {
+                            // the last page was offered after the poll above
+                            continue;
+                        }
+                        terminate();
+                        subscriber.onComplete();
+                        return;
+                    }
+                }
+                if (emitted == demand || !current.hasNext()) {
+                    break;
+                }
+                T item = current.next();
+                buffered.decrementAndGet();
+                subscriber.onNext(item);
+                emitted++;
+            }
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            if (emitted > 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            fetchIfNeeded();
+        }
+
+        private void fetchIfNeeded() {
+            int held = pages.size() + (current.hasNext() ? 1 : 0);
+            if (fetching || exhausted || held >= maxPages || buffered.get() >= requested.get()) {
+                return;
+            }
+            fetching = true;
+            int page = nextPage++;
+            try {
+                executor.execute(() -> fetch(page));
+            } catch (RuntimeException e) {
+                fetching = false;
+                error = e;
+                // drain again, the loop running this may already be exiting
+                drain();
+            }
+        }
+
+        private void fetch(int page) {
+            try {
+                if (!cancelled) {
+                    P response = fetch.apply(page);
+                    List<T> fetched = response == null ? null : items.apply(response);
+                    Integer count = response == null ? null : pageCount.apply(response);
+                    if (fetched == null || fetched.isEmpty() || (count != null && page + 1 >= count)) {
+                        exhausted = true;
+                    }
+                    if (fetched != null && !fetched.isEmpty()) {
+                        buffered.addAndGet(fetched.size());
+                        pages.offer(fetched);
+                    }
+                }
+            } catch (Throwable e) {
+                error = e;
+            } finally {
+                fetching = false;
+            }
+            drain();
+        }
+
+        private void terminate() {
+            terminated = true;
+            pages.clear();
+            current = Collections.emptyIterator();
+        }
+    }
+}
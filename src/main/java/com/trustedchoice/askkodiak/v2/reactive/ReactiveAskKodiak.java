@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.reactive;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiak;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.CompanyProductsQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.EligibleQuery;
+import com.trustedchoice.askkodiak.v2.client.AskKodiak.ProductsQuery;
+import com.trustedchoice.askkodiak.v2.model.company.Company;
+import com.trustedchoice.askkodiak.v2.model.company.CompanyProducts;
+import com.trustedchoice.askkodiak.v2.model.product.Product;
+import com.trustedchoice.askkodiak.v2.model.product.Products;
+import org.reactivestreams.Publisher;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactive Streams adapter streaming the items of paged Ask Kodiak endpoints as backpressured {@link Publisher}s.
+ * <p>
+ * Pages are fetched with the blocking {@link AskKodiak} client on the configured executor, only when the subscriber has
+ * requested more items than are already buffered. At most {@code maxBufferedPages} pages are held in memory per
+ * subscription, so arbitrarily large result sets can be exported with a bounded heap. Publishers are cold, each
+ * subscription starts over at the query's page (or the first page when unset).
+ * <p>
+ * Requires {@code org.reactivestreams:reactive-streams} on the classpath, which is not a transitive dependency of this
+ * SDK.
+ */
+public class ReactiveAskKodiak {
+
+    /**
+     * Page size used when the query does not specify one.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Number of pages buffered per subscription by default.
+     */
+    public static final int DEFAULT_MAX_BUFFERED_PAGES = 2;
+
+    private final AskKodiak askKodiak;
+
+    private final Executor executor;
+
+    private final int pageSize;
+
+    private final int maxBufferedPages;
+
+    /**
+     * Streams with default page size and buffering, fetching pages on a shared daemon thread pool.
+     *
+     * @param askKodiak Client used to fetch pages
+     */
+    public ReactiveAskKodiak(AskKodiak askKodiak) {
+        this(askKodiak, FetchExecutor.INSTANCE, DEFAULT_PAGE_SIZE, DEFAULT_MAX_BUFFERED_PAGES);
+    }
+
+    /**
+     * @param askKodiak        Client used to fetch pages
+     * @param executor         Executor on which pages are fetched, requests block the executing thread
+     * @param pageSize         Page size used when the query does not specify one
+     * @param maxBufferedPages Maximum number of pages held in memory per subscription, including the page being fetched
+     */
+    public ReactiveAskKodiak(AskKodiak askKodiak, Executor executor, int pageSize, int maxBufferedPages) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        if (maxBufferedPages < 1) {
+            throw new IllegalArgumentException("maxBufferedPages must be positive");
+        }
+        this.askKodiak = askKodiak;
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.maxBufferedPages = maxBufferedPages;
+    }
+
+    /**
+     * Streams the products owned by your group, see {@link AskKodiak#getProducts(ProductsQuery)}.
+     *
+     * @param query Products query, {@code page} and {@code productsPerPage} select the first page and page size
+     * @return Publisher of products
+     */
+    public Publisher<Product> getProducts(ProductsQuery query) {
+        ProductsQuery base = query != null ? query : ProductsQuery.builder().build();
+        int size = base.getProductsPerPage() != null ? base.getProductsPerPage() : pageSize;
+        return new PagedPublisher<>(
+                page -> askKodiak.getProducts(base.toBuilder().page(page).productsPerPage(size).build()),
+                Products::getProducts,
+                Products::getPages,
+                base.getPage() != null ? base.getPage() : 0,
+                executor,
+                maxBufferedPages);
+    }
+
+    /**
+     * Streams the products eligible for a NAICS code, see
+     * {@link AskKodiak#getProductsEligibleForCode(String, EligibleQuery)}.
+     *
+     * @param code  NAICS code
+     * @param query Eligibility query, {@code page} and {@code productsPerPage} select the first page and page size
+     * @return Publisher of products
+     */
+    public Publisher<Product> getProductsEligibleForCode(String code, EligibleQuery query) {
+        EligibleQuery base = query != null ? query : EligibleQuery.builder().build();
+        int size = base.getProductsPerPage() != null ? base.getProductsPerPage() : pageSize;
+        return new PagedPublisher<>(
+                page -> askKodiak.getProductsEligibleForCode(code,
+                        base.toBuilder().page(page).productsPerPage(size).build()),
+                Products::getProducts,
+                Products::getPages,
+                base.getPage() != null ? base.getPage() : 0,
+                executor,
+                maxBufferedPages);
+    }
+
+    /**
+     * Streams the companies offering relevant products, see {@link AskKodiak#getProductsByCompany(CompanyProductsQuery)}.
+     * <p>
+     * This endpoint is paged by company and each {@link Company} only references its products by id, hence the stream
+     * is of companies rather than products.
+     *
+     * @param query Company products query, {@code page} and {@code companiesPerPage} select the first page and page
+     *              size
+     * @return Publisher of companies
+     */
+    public Publisher<Company> getProductsByCompany(CompanyProductsQuery query) {
+        CompanyProductsQuery base = query != null ? query : CompanyProductsQuery.builder().build();
+        int size = base.getCompaniesPerPage() != null ? base.getCompaniesPerPage() : pageSize;
+        return new PagedPublisher<>(
+                page -> askKodiak.getProductsByCompany(base.toBuilder().page(page).companiesPerPage(size).build()),
+                CompanyProducts::getCompanies,
+                CompanyProducts::getPages,
+                base.getPage() != null ? base.getPage() : 0,
+                executor,
+                maxBufferedPages);
+    }
+
+    /**
+     * Lazily created pool for page fetches when no executor is supplied.
+     */
+    private static class FetchExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ask-kodiak-pages-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
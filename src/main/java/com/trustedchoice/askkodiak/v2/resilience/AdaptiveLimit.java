@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+/**
+ * Concurrency limit of a single endpoint, adjusted from the round trip time and outcome of each call.
+ */
+abstract class AdaptiveLimit {
+
+    final ConcurrencyLimitConfig config;
+
+    double limit;
+
+    AdaptiveLimit(ConcurrencyLimitConfig config) {
+        this.config = config;
+        this.limit = config.getInitialLimit();
+    }
+
+    static AdaptiveLimit create(ConcurrencyLimitConfig config) {
+        return config.getAlgorithm() == ConcurrencyLimitConfig.Algorithm.AIMD
+                ? new Aimd(config)
+                : new Gradient(config);
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * @param rttNanos Round trip time of the call
+     * @param inFlight Calls in flight when the call started, including itself
+     * @param dropped  Whether the call failed in a way indicating overload
+     */
+    synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        limit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), update(rttNanos, inFlight, dropped)));
+    }
+
+    abstract double update(long rttNanos, int inFlight, boolean dropped);
+
+    /**
+     * Whether the endpoint was busy enough for the sample to say anything about a higher limit, growing the limit of
+     * an endpoint which is mostly idle would let it grow without bound.
+     */
+    boolean saturated(int inFlight) {
+        return inFlight * 2 >= limit;
+    }
+
+    static class Aimd extends AdaptiveLimit {
+
+        Aimd(ConcurrencyLimitConfig config) {
+            super(config);
+        }
+
+        @Override
+        double update(long rttNanos, int inFlight, boolean dropped) {
+            if (dropped || rttNanos > config.getSlowCallDuration().toNanos()) {
+                return limit * config.getBackoffRatio();
+            }
+            return saturated(inFlight) ? limit + 1 : limit;
+        }
+    }
+
+    static class Gradient extends AdaptiveLimit {
+
+        private double longRtt;
+
+        private long samples;
+
+        Gradient(ConcurrencyLimitConfig config) {
+            super(config);
+        }
+
+        @Override
+        double update(long rttNanos, int inFlight, boolean dropped) {
+            if (dropped) {
+                return limit * 0.9;
+            }
+            samples++;
+            long window = Math.min(samples, Math.max(1, config.getLongWindow()));
+            longRtt = longRtt + (rttNanos - longRtt) / window;
+            // below 1 when the latency rises above the long term average, never more than halving
+            double gradient = Math.max(0.5, Math.min(1.0, longRtt / rttNanos));
+            double queueSize = Math.sqrt(limit);
+            double target = limit * gradient + queueSize;
+            double next = limit * (1 - config.getSmoothing()) + target * config.getSmoothing();
+            // the queue size term grows the limit unless latency rose sharply, only let a busy endpoint grow
+            return saturated(inFlight) ? next : Math.min(limit, next);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feign {@link Retryer} retrying idempotent calls which failed with a 5xx or 429 status, see
+ * {@link AskKodiakException#isRetryable()}, or an I/O error, with exponential backoff and full jitter.
+ * <p>
+ * Retries are bounded per call by {@link RetryPolicy#getMaxAttempts()} and across calls by a budget of
+ * {@link RetryPolicy#getBudgetRatio()} retries per call, so that retries cannot multiply the load on an API which is
+ * failing. A delay requested by the server through {@code Retry-After} is honored. When a call is not retried the
+ * original {@link AskKodiakException} is thrown. Within a {@link Deadline} no retry is started which would begin after
+ * it has passed.
+ * <p>
+ * A single instance may be shared by several clients which then share their budget and statistics. Requires the
+ * {@link RetryingErrorDecoder}, which {@link com.trustedchoice.askkodiak.v2.client.AskKodiakClient.Builder} installs
+ * along with the retryer.
+ */
+public class BackoffRetryer implements Retryer {
+
+    private static final Set<Request.HttpMethod> IDEMPOTENT = Collections.unmodifiableSet(EnumSet.of(
+            Request.HttpMethod.GET,
+            Request.HttpMethod.HEAD,
+            Request.HttpMethod.OPTIONS,
+            Request.HttpMethod.PUT,
+            Request.HttpMethod.DELETE,
+            Request.HttpMethod.TRACE));
+
+    private final RetryPolicy policy;
+
+    private final RetryBudget budget;
+
+    private final Counters counters;
+
+    /**
+     * Number of attempts made by the call this instance was cloned for.
+     */
+    private int attempt = 1;
+
+    public BackoffRetryer(RetryPolicy policy) {
+        if (policy.getMaxAttempts() < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.policy = policy;
+        this.budget = new RetryBudget(policy.getBudgetRatio(), policy.getBudgetReserve());
+        this.counters = new Counters(policy.getMaxAttempts());
+    }
+
+    private BackoffRetryer(BackoffRetryer shared) {
+        this.policy = shared.policy;
+        this.budget = shared.budget;
+        this.counters = shared.counters;
+    }
+
+    /**
+     * Feign clones the retryer for every call.
+     */
+    @Override
+    public Retryer clone() {
+        counters.calls.increment();
+        budget.deposit();
+        return new BackoffRetryer(this);
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        if (!retryable(e)) {
+            throw propagate(e);
+        }
+        if (attempt >= policy.getMaxAttempts()) {
+            counters.exhausted.increment();
+            throw propagate(e);
+        }
+
+        long bound = Math.min(policy.getMaxDelay().toMillis(),
+                policy.getBaseDelay().toMillis() << Math.min(attempt - 1, 30));
+        long delay = ThreadLocalRandom.current().nextLong(bound + 1);
+        if (e.retryAfter() != null) {
+            long requested = e.retryAfter().getTime() - System.currentTimeMillis();
+            if (requested > policy.getMaxDelay().toMillis()) {
+                counters.exhausted.increment();
+                throw propagate(e);
+            }
+            delay = Math.max(delay, requested);
+        }
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.remainingNanos() <= TimeUnit.MILLISECONDS.toNanos(delay)) {
+            counters.deadlineExceeded.increment();
+            throw propagate(e);
+        }
+        if (!budget.tryWithdraw()) {
+            counters.budgetExhausted.increment();
+            throw propagate(e);
+        }
+
+        try {
+            TimeUnit.MILLISECONDS.sleep(delay);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw propagate(e);
+        }
+        attempt++;
+        counters.retries.increment();
+        counters.attempts.incrementAndGet(attempt - 1);
+    }
+
+    /**
+     * @return Retry statistics of every client using this retryer.
+     */
+    public RetryStats snapshot() {
+        Map<Integer, Long> attempts = new TreeMap<>();
+        for (int i = 1; i < counters.attempts.length(); i++) {
+            long calls = counters.attempts.get(i);
+            if (calls > 0) {
+                attempts.put(i + 1, calls);
+            }
+        }
+        return new RetryStats(
+                counters.calls.sum(),
+                counters.retries.sum(),
+                counters.exhausted.sum(),
+                counters.budgetExhausted.sum(),
+                counters.deadlineExceeded.sum(),
+                Collections.unmodifiableMap(attempts));
+    }
+
+    private static boolean retryable(RetryableException e) {
+        if (e.method() != null && !IDEMPOTENT.contains(e.method())) {
+            return false;
+        }
+        Throwable cause = e.getCause();
+        if (cause instanceof AskKodiakException) {
+            return ((AskKodiakException) cause).isRetryable();
+        }
+        return cause instanceof IOException;
+    }
+
+    private static RuntimeException propagate(RetryableException e) {
+        return e.getCause() instanceof AskKodiakException ? (AskKodiakException) e.getCause() : e;
+    }
+
+    private static class Counters {
+
+        final LongAdder calls = new LongAdder();
+
+        final LongAdder retries = new LongAdder();
+
+        final LongAdder exhausted = new LongAdder();
+
+        final LongAdder budgetExhausted = new LongAdder();
+
+        final LongAdder deadlineExceeded = new LongAdder();
+
+        /**
+         * Calls by number of attempts, index n counts the calls which made at least n + 1 attempts.
+         */
+        final AtomicLongArray attempts;
+
+        Counters(int maxAttempts) {
+            this.attempts = new AtomicLongArray(maxAttempts);
+        }
+    }
+
+    @lombok.Value
+    public static class RetryStats {
+
+        /**
+         * Calls made.
+         */
+        long calls;
+
+        /**
+         * Retries made, across all calls.
+         */
+        long retries;
+
+        /**
+         * Calls which failed after exhausting their attempts, or because the server asked to wait too long.
+         */
+        long exhausted;
+
+        /**
+         * Calls which failed without retrying because the retry budget was spent.
+         */
+        long budgetExhausted;
+
+        /**
+         * Calls which failed without retrying because the retry would have started after their {@link Deadline}.
+         */
+        long deadlineExceeded;
+
+        /**
+         * Number of calls which made at least the given number of attempts, from 2 attempts up.
+         */
+        Map<Integer, Long> attempts;
+
+        /**
+         * @return Average number of attempts per call.
+         */
+        public double getAttemptsPerCall() {
+            return calls == 0 ? 0.0 : (double) (calls + retries) / calls;
+        }
+    }
+}
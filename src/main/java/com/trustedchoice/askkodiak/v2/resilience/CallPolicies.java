@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import feign.RequestLine;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies {@link CallPolicy}s to Feign proxies.
+ */
+public final class CallPolicies {
+
+    private CallPolicies() {
+    }
+
+    /**
+     * Wrap a proxy so that every call to a {@link RequestLine} method goes through the policy. Other methods, such as
+     * those of {@link Object}, are passed through.
+     *
+     * @param type   Interface implemented by the proxy
+     * @param target Proxy to decorate
+     * @param policy Policy to apply
+     * @param <T>    Interface type
+     * @return Decorated proxy
+     */
+    public static <T> T decorate(Class<T> type, T target, CallPolicy policy) {
+        Map<Method, String> requestLines = new ConcurrentHashMap<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            RequestLine requestLine = method.getAnnotation(RequestLine.class);
+            if (requestLine == null) {
+                return invoke(target, method, args);
+            }
+            return policy.apply(requestLines.computeIfAbsent(method, m -> requestLine(requestLine)), method, args,
+                    () -> invoke(target, method, args));
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * The request line without any query template, matching
+     * {@link com.trustedchoice.askkodiak.v2.transport.Endpoints#requestLine(feign.Request)}.
+     */
+    private static String requestLine(RequestLine annotation) {
+        String value = annotation.value().trim();
+        int query = value.indexOf('?');
+        return query < 0 ? value : value.substring(0, query);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
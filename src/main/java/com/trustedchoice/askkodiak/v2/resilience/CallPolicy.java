@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import java.lang.reflect.Method;
+
+/**
+ * A policy applied around every call made through an {@link com.trustedchoice.askkodiak.v2.client.AskKodiak} proxy,
+ * see {@link CallPolicies#decorate(Class, Object, CallPolicy)}. Unlike a {@link feign.Client} decorator a policy sees
+ * the whole call, including any retries, and its decoded result or exception.
+ */
+@FunctionalInterface
+public interface CallPolicy {
+
+    /**
+     * @param requestLine Request line of the endpoint as declared on {@link feign.RequestLine}, e.g.
+     *                    {@code GET /v2/product/{id}}
+     * @param method      Method invoked on the proxy
+     * @param args        Arguments of the call, {@code null} for none
+     * @param call        Proceeds with the call
+     * @return Result of the call
+     * @throws Throwable Exception thrown by the call, or by the policy to reject it
+     */
+    Object apply(String requestLine, Method method, Object[] args, Call call) throws Throwable;
+
+    @FunctionalInterface
+    interface Call {
+
+        /**
+         * Make the call, may be invoked more than once by policies that repeat calls.
+         *
+         * @return Result
+         * @throws Throwable Exception thrown by the call
+         */
+        Object proceed() throws Throwable;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+/**
+ * Circuit breaker of a single endpoint, evaluating failure and slow call rates over a sliding window of the most
+ * recent calls.
+ * <p>
+ * Every permit carries the generation of the state it was granted in, results of calls permitted before the last
+ * state change are ignored so that stragglers cannot reopen or close the breaker.
+ */
+class CircuitBreaker {
+
+    /**
+     * How a call ended as far as the health of the endpoint is concerned.
+     */
+    enum Outcome {
+
+        /**
+         * Answered by the API.
+         */
+        SUCCESS,
+
+        /**
+         * Failed with a retryable status or without an answer, counted against the endpoint.
+         */
+        FAILURE,
+
+        /**
+         * Answered with an error about the request itself, such as 404. A successful call while closed, a probe
+         * ending this way is released without telling whether the endpoint recovered.
+         */
+        REQUEST_ERROR,
+
+        /**
+         * Rejected by a client side policy without reaching the API, never counted.
+         */
+        REJECTED
+    }
+
+    private static final byte FAILED = 1;
+
+    private static final byte SLOW = 2;
+
+    private final CircuitBreakerConfig config;
+
+    private final byte[] window;
+
+    private int next;
+
+    private int calls;
+
+    private int failures;
+
+    private int slowCalls;
+
+    private CircuitBreakers.State state = CircuitBreakers.State.CLOSED;
+
+    private long generation;
+
+    private long openedAt;
+
+    private int probes;
+
+    private int probeSuccesses;
+
+    CircuitBreaker(CircuitBreakerConfig config) {
+        this.config = config;
+        this.window = new byte[Math.max(1, config.getWindowSize())];
+    }
+
+    /**
+     * @param now Current {@link System#nanoTime()}
+     * @return Permit to pass to {@link #onResult(long, long, Outcome, boolean)}, or -1 when the call is rejected
+     */
+    synchronized long tryAcquire(long now) {
+        if (state == CircuitBreakers.State.OPEN) {
+            if (now - openedAt < config.getOpenDuration().toNanos()) {
+                return -1;
+            }
+            transition(CircuitBreakers.State.HALF_OPEN);
+        }
+        if (state == CircuitBreakers.State.HALF_OPEN) {
+            if (probes >= config.getHalfOpenCalls()) {
+                return -1;
+            }
+            probes++;
+        }
+        return generation;
+    }
+
+    /**
+     * @param permit  Permit the call was granted
+     * @param now     Current {@link System#nanoTime()}
+     * @param outcome How the call ended
+     * @param slow    Whether the call took longer than the slow call duration
+     */
+    synchronized void onResult(long permit, long now, Outcome outcome, boolean slow) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == CircuitBreakers.State.HALF_OPEN) {
+            if (outcome == Outcome.REJECTED || outcome == Outcome.REQUEST_ERROR) {
+                // release the probe, a later call tells whether the endpoint recovered
+                probes--;
+            } else if (outcome == Outcome.FAILURE || slow) {
+                open(now);
+            } else if (++probeSuccesses >= config.getHalfOpenCalls()) {
+                transition(CircuitBreakers.State.CLOSED);
+            }
+            return;
+        }
+        if (outcome == Outcome.REJECTED) {
+            return;
+        }
+        boolean failed = outcome == Outcome.FAILURE;
+        record((byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0)));
+        if (calls >= Math.min(config.getMinimumCalls(), window.length)
+                && (failures >= config.getFailureRateThreshold() * calls
+                || slowCalls >= config.getSlowCallRateThreshold() * calls)) {
+            open(now);
+        }
+    }
+
+    synchronized CircuitBreakers.State state(long now) {
+        if (state == CircuitBreakers.State.OPEN && now - openedAt >= config.getOpenDuration().toNanos()) {
+            transition(CircuitBreakers.State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    /**
+     * @return Nanoseconds until an open breaker lets a probe through, 0 otherwise
+     */
+    synchronized long remainingOpen(long now) {
+        return state == CircuitBreakers.State.OPEN
+                ? Math.max(0, config.getOpenDuration().toNanos() - (now - openedAt))
+                : 0;
+    }
+
+    synchronized double failureRate() {
+        return calls == 0 ? 0.0 : (double) failures / calls;
+    }
+
+    synchronized double slowCallRate() {
+        return calls == 0 ? 0.0 : (double) slowCalls / calls;
+    }
+
+    synchronized int bufferedCalls() {
+        return calls;
+    }
+
+    private void record(byte outcome) {
+        if (calls == window.length) {
+            byte evicted = window[next];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            calls++;
+        }
+        window[next] = outcome;
+        failures += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+        next = (next + 1) % window.length;
+    }
+
+    private void open(long now) {
+        transition(CircuitBreakers.State.OPEN);
+        openedAt = now;
+    }
+
+    private void transition(CircuitBreakers.State to) {
+        state = to;
+        generation++;
+        probes = 0;
+        probeSuccesses = 0;
+        if (to == CircuitBreakers.State.CLOSED) {
+            next = 0;
+            calls = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker configuration, see {@link CircuitBreakers}.
+ * <pre>
+ * CircuitBreakerConfig.builder()
+ *         .failureRateThreshold(0.5)
+ *         .slowCallDuration(Duration.ofSeconds(2))
+ *         .openDuration(Duration.ofSeconds(30))
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class CircuitBreakerConfig {
+
+    /**
+     * Number of most recent calls the failure and slow call rates are computed over.
+     */
+    @lombok.Builder.Default
+    private final int windowSize = 50;
+
+    /**
+     * Number of calls in the window before the rates are evaluated.
+     */
+    @lombok.Builder.Default
+    private final int minimumCalls = 10;
+
+    /**
+     * Share of failed calls, above 0 and at most 1, at which the breaker opens. Calls fail when the API responds with a
+     * retryable status (429 or 5xx) or cannot be reached, other errors such as 404 are successful calls.
+     */
+    @lombok.Builder.Default
+    private final double failureRateThreshold = 0.5;
+
+    /**
+     * Share of slow calls, above 0 and at most 1, at which the breaker opens.
+     */
+    @lombok.Builder.Default
+    private final double slowCallRateThreshold = 0.8;
+
+    /**
+     * Duration above which a call is slow.
+     */
+    @lombok.Builder.Default
+    private final Duration slowCallDuration = Duration.ofSeconds(5);
+
+    /**
+     * How long an open breaker rejects calls before letting probes through.
+     */
+    @lombok.Builder.Default
+    private final Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * Number of probe calls let through by a half open breaker, all must succeed for the breaker to close.
+     */
+    @lombok.Builder.Default
+    private final int halfOpenCalls = 1;
+
+    public static CircuitBreakerConfig defaults() {
+        return builder().build();
+    }
+}
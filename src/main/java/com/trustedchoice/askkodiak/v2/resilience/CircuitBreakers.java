@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breakers keyed by endpoint request line, e.g. {@code GET /v2/suggest/naics-codes/{term}}, so that a
+ * degraded endpoint fails fast instead of tying up the caller's threads while other endpoints remain available.
+ * <p>
+ * A breaker is closed while the failure and slow call rates over its window of recent calls stay below the configured
+ * thresholds. Beyond either it opens and calls fail immediately with a {@link CircuitOpenException}. After
+ * {@link CircuitBreakerConfig#getOpenDuration()} it is half open and lets a number of probe calls through, closing
+ * again if they all succeed and reopening otherwise. A probe rejected by a client side policy, or answered with an
+ * error about the request such as 404, is released for another call to probe with.
+ * <p>
+ * Breakers apply to whole calls made through the {@link com.trustedchoice.askkodiak.v2.client.AskKodiak} proxy, a
+ * call retried by a {@link BackoffRetryer} is recorded once with its final outcome. A single instance may be shared
+ * by several clients which then share their breakers.
+ */
+public class CircuitBreakers implements CallPolicy {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final CircuitBreakerConfig config;
+
+    private final ConcurrentMap<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * @param config Configuration
+     * @throws IllegalArgumentException If a rate threshold is not above 0 and at most 1, or a count is not positive
+     */
+    public CircuitBreakers(CircuitBreakerConfig config) {
+        if (!isRate(config.getFailureRateThreshold()) || !isRate(config.getSlowCallRateThreshold())) {
+            throw new IllegalArgumentException("Rate thresholds must be above 0 and at most 1");
+        }
+        if (config.getWindowSize() < 1 || config.getMinimumCalls() < 1 || config.getHalfOpenCalls() < 1) {
+            throw new IllegalArgumentException("windowSize, minimumCalls and halfOpenCalls must be positive");
+        }
+        this.config = config;
+    }
+
+    @Override
+    public Object apply(String requestLine, Method method, Object[] args, Call call) throws Throwable {
+        Breaker breaker = breaker(requestLine);
+        long start = System.nanoTime();
+        long permit = breaker.circuit.tryAcquire(start);
+        if (permit < 0) {
+            breaker.rejected.increment();
+            throw new CircuitOpenException("Circuit breaker open for " + requestLine,
+                    Duration.ofNanos(breaker.circuit.remainingOpen(start)));
+        }
+        CircuitBreaker.Outcome outcome = CircuitBreaker.Outcome.SUCCESS;
+        try {
+            return call.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            long end = System.nanoTime();
+            breaker.circuit.onResult(permit, end, outcome, end - start >= config.getSlowCallDuration().toNanos());
+        }
+    }
+
+    /**
+     * @param requestLine Endpoint request line, e.g. {@code GET /v2/product/{id}}
+     * @return State of the endpoint's breaker, {@link State#CLOSED} if it has not been called yet
+     */
+    public State state(String requestLine) {
+        Breaker breaker = breakers.get(requestLine);
+        return breaker == null ? State.CLOSED : breaker.circuit.state(System.nanoTime());
+    }
+
+    /**
+     * @return Statistics keyed by endpoint request line
+     */
+    public Map<String, BreakerStats> snapshot() {
+        long now = System.nanoTime();
+        Map<String, BreakerStats> snapshot = new TreeMap<>();
+        breakers.forEach((endpoint, breaker) -> snapshot.put(endpoint, new BreakerStats(
+                breaker.circuit.state(now),
+                breaker.circuit.failureRate(),
+                breaker.circuit.slowCallRate(),
+                breaker.circuit.bufferedCalls(),
+                breaker.rejected.sum())));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private Breaker breaker(String requestLine) {
+        return breakers.computeIfAbsent(requestLine, key -> new Breaker(new CircuitBreaker(config)));
+    }
+
+    /**
+     * Whether an exception counts against the endpoint's health: errors the API returned for the request itself, such
+     * as 404, do not, and rejections by client side policies are not counted at all.
+     */
+    private static CircuitBreaker.Outcome outcome(Throwable e) {
+        if (e instanceof RateLimitExceededException || e instanceof CircuitOpenException
+                || e instanceof ConcurrencyLimitExceededException || e instanceof DeadlineExceededException) {
+            return CircuitBreaker.Outcome.REJECTED;
+        }
+        if (e instanceof AskKodiakException && !((AskKodiakException) e).isRetryable()) {
+            return CircuitBreaker.Outcome.REQUEST_ERROR;
+        }
+        return CircuitBreaker.Outcome.FAILURE;
+    }
+
+    private static boolean isRate(double threshold) {
+        return threshold > 0 && threshold <= 1;
+    }
+
+    private static class Breaker {
+
+        final CircuitBreaker circuit;
+
+        final LongAdder rejected = new LongAdder();
+
+        Breaker(CircuitBreaker circuit) {
+            this.circuit = circuit;
+        }
+    }
+
+    @lombok.Value
+    public static class BreakerStats {
+
+        State state;
+
+        /**
+         * Share of failed calls in the window.
+         */
+        double failureRate;
+
+        /**
+         * Share of slow calls in the window.
+         */
+        double slowCallRate;
+
+        /**
+         * Calls in the window.
+         */
+        int bufferedCalls;
+
+        /**
+         * Calls rejected while the breaker was open.
+         */
+        long rejected;
+    }
+}
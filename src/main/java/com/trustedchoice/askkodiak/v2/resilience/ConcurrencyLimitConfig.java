@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limit configuration, see {@link ConcurrencyLimits}.
+ * <pre>
+ * ConcurrencyLimitConfig.builder()
+ *         .algorithm(ConcurrencyLimitConfig.Algorithm.GRADIENT)
+ *         .initialLimit(20)
+ *         .maxLimit(200)
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class ConcurrencyLimitConfig {
+
+    public enum Algorithm {
+        /**
+         * Additive increase, multiplicative decrease: the limit grows by one for each successful call made while
+         * the endpoint was busy, and is multiplied by {@link #getBackoffRatio()} for each failed or slow call.
+         */
+        AIMD,
+        /**
+         * Compares each call's round trip time with the long term average: the limit shrinks as latency rises above
+         * the average, i.e. as requests queue at the server, and grows while latency stays at it.
+         */
+        GRADIENT
+    }
+
+    @lombok.Builder.Default
+    private final Algorithm algorithm = Algorithm.GRADIENT;
+
+    /**
+     * Concurrent calls allowed per endpoint before any latency was measured.
+     */
+    @lombok.Builder.Default
+    private final int initialLimit = 20;
+
+    @lombok.Builder.Default
+    private final int minLimit = 1;
+
+    @lombok.Builder.Default
+    private final int maxLimit = 200;
+
+    /**
+     * Factor the AIMD limit is multiplied by when a call fails or is slow.
+     */
+    @lombok.Builder.Default
+    private final double backoffRatio = 0.9;
+
+    /**
+     * Round trip time above which an AIMD call counts as slow.
+     */
+    @lombok.Builder.Default
+    private final Duration slowCallDuration = Duration.ofSeconds(5);
+
+    /**
+     * Weight of each new gradient limit in the smoothed limit, between 0 and 1.
+     */
+    @lombok.Builder.Default
+    private final double smoothing = 0.2;
+
+    /**
+     * Number of samples the long term round trip time of the gradient algorithm averages over.
+     */
+    @lombok.Builder.Default
+    private final int longWindow = 600;
+
+    public static ConcurrencyLimitConfig defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive concurrency limits keyed by endpoint request line, e.g. {@code GET /v2/products/by-company}, in the style of
+ * Netflix's concurrency-limits.
+ * <p>
+ * Each endpoint allows a number of calls in flight which grows and shrinks with the latency and failures measured, see
+ * {@link ConcurrencyLimitConfig.Algorithm}. A call beyond the limit fails immediately with a
+ * {@link ConcurrencyLimitExceededException} rather than queueing, so that callers keep their own latency under
+ * overload and a slow endpoint cannot absorb every thread. A single instance may be shared by several clients which
+ * then share their limits.
+ */
+public class ConcurrencyLimits implements CallPolicy {
+
+    private final ConcurrencyLimitConfig config;
+
+    private final ConcurrentMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimits(ConcurrencyLimitConfig config) {
+        if (config.getMinLimit() < 1 || config.getMaxLimit() < config.getMinLimit()) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        this.config = config;
+    }
+
+    @Override
+    public Object apply(String requestLine, Method method, Object[] args, Call call) throws Throwable {
+        Limiter limiter = limiters.computeIfAbsent(requestLine, key -> new Limiter(AdaptiveLimit.create(config)));
+        int inFlight = limiter.inFlight.incrementAndGet();
+        if (inFlight > limiter.limit.limit()) {
+            limiter.inFlight.decrementAndGet();
+            limiter.rejected.increment();
+            throw new ConcurrencyLimitExceededException("Concurrency limit of " + limiter.limit.limit()
+                    + " reached for " + requestLine);
+        }
+        long start = System.nanoTime();
+        Boolean dropped = Boolean.FALSE;
+        try {
+            return call.proceed();
+        } catch (Throwable e) {
+            dropped = dropped(e);
+            throw e;
+        } finally {
+            limiter.inFlight.decrementAndGet();
+            if (dropped != null) {
+                limiter.limit.onSample(System.nanoTime() - start, inFlight, dropped);
+            }
+        }
+    }
+
+    /**
+     * @return Statistics keyed by endpoint request line
+     */
+    public Map<String, LimitStats> snapshot() {
+        Map<String, LimitStats> snapshot = new TreeMap<>();
+        limiters.forEach((endpoint, limiter) -> snapshot.put(endpoint, new LimitStats(
+                limiter.limit.limit(),
+                limiter.inFlight.get(),
+                limiter.rejected.sum())));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * @return Whether the call failed in a way indicating overload, or {@code null} when it was rejected by a client
+     * side policy and says nothing about the endpoint's latency
+     */
+    private static Boolean dropped(Throwable e) {
+        if (e instanceof RateLimitExceededException || e instanceof CircuitOpenException
+                || e instanceof ConcurrencyLimitExceededException || e instanceof DeadlineExceededException) {
+            return null;
+        }
+        if (e instanceof AskKodiakException) {
+            return ((AskKodiakException) e).isRetryable();
+        }
+        return Boolean.TRUE;
+    }
+
+    private static class Limiter {
+
+        final AdaptiveLimit limit;
+
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        final LongAdder rejected = new LongAdder();
+
+        Limiter(AdaptiveLimit limit) {
+            this.limit = limit;
+        }
+    }
+
+    @lombok.Value
+    public static class LimitStats {
+
+        /**
+         * Current limit of concurrent calls.
+         */
+        int limit;
+
+        /**
+         * Calls currently in flight.
+         */
+        int inFlight;
+
+        /**
+         * Calls rejected because the limit was reached.
+         */
+        long rejected;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import java.time.Duration;
+
+/**
+ * A point in time by which the calls made on the current thread must complete.
+ * <p>
+ * A deadline is opened for a block of calls and applies to every call made through clients created by
+ * {@link com.trustedchoice.askkodiak.v2.client.AskKodiakClient.Builder#build()} until it is closed:
+ * <pre>
+ * try (Deadline.Scope scope = Deadline.within(Duration.ofMillis(300))) {
+ *     askKodiak.getSuggestedNaicsCodes(term, query);
+ * }
+ * </pre>
+ * The connect and read timeouts of each request are shortened to the time remaining, the {@link BackoffRetryer} does
+ * not start a retry which cannot complete in time and a request due after the deadline fails with a
+ * {@link DeadlineExceededException} without being sent. Nested deadlines cannot extend an enclosing one.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Open a deadline on the current thread.
+     *
+     * @param timeout Time from now within which the calls must complete
+     * @return Scope to close once the calls are made, restoring any enclosing deadline
+     */
+    public static Scope within(Duration timeout) {
+        Deadline enclosing = CURRENT.get();
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        if (enclosing != null && enclosing.deadlineNanos - deadlineNanos < 0) {
+            deadlineNanos = enclosing.deadlineNanos;
+        }
+        CURRENT.set(new Deadline(deadlineNanos));
+        return new Scope(enclosing);
+    }
+
+    /**
+     * @return Deadline of the current thread, or {@code null} if none is open
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return Nanoseconds left until the deadline, zero or negative once it has passed
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * A deadline opened by {@link #within(Duration)}.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Deadline enclosing;
+
+        private Scope(Deadline enclosing) {
+            this.enclosing = enclosing;
+        }
+
+        @Override
+        public void close() {
+            if (enclosing == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(enclosing);
+            }
+        }
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import com.trustedchoice.askkodiak.v2.transport.CoalescingClient;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedged calls for latency critical GET endpoints, see "The Tail at Scale" by Dean and Barroso.
+ * <p>
+ * When a call has not completed within the configured percentile of the recent latency of its endpoint, an identical
+ * second call is sent and whichever completes first successfully is returned, the other is abandoned. Hedges are
+ * bounded by a budget of {@link HedgingConfig#getMaxHedgeRatio()} hedges per call so that hedging cannot multiply the
+ * load on an API which is slow as a whole. A hedge is never coalesced with the call it races, see
+ * {@link CoalescingClient#alone()}.
+ * <p>
+ * Once enough calls of an endpoint were measured its calls run on an executor while the caller waits, carrying over
+ * the caller's {@link Deadline}. Within {@link CircuitBreakers} a hedged call is recorded once, within
+ * {@link ConcurrencyLimits} a hedge takes its own permit. A single instance may be shared by several clients which
+ * then share their latency measurements and budget.
+ * <p>
+ * The attempt losing the race is cancelled and its thread interrupted. This aborts it while it waits for a permit or a
+ * rate limit, or on {@link com.trustedchoice.askkodiak.v2.transport.Http2Transport}. Transports blocking on socket
+ * reads are not interruptible, there the loser keeps its connection and any permit until its response is read or
+ * times out.
+ */
+public class Hedging implements CallPolicy {
+
+    private final HedgingConfig config;
+
+    private final Executor executor;
+
+    private final RetryBudget budget;
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Hedge calls on a cached pool of daemon threads.
+     *
+     * @param config Configuration
+     */
+    public Hedging(HedgingConfig config) {
+        this(config, HedgeExecutor.INSTANCE);
+    }
+
+    /**
+     * @param config   Configuration
+     * @param executor Executor running the calls, and their hedges, while the callers wait
+     */
+    public Hedging(HedgingConfig config, Executor executor) {
+        if (config.getPercentile() <= 0 || config.getPercentile() >= 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+        }
+        if (config.getWindow() < 1 || config.getMinimumCalls() > config.getWindow()) {
+            throw new IllegalArgumentException("Calls must satisfy minimumCalls <= window");
+        }
+        this.config = config;
+        this.executor = executor;
+        this.budget = new RetryBudget(config.getMaxHedgeRatio(), config.getHedgeReserve());
+    }
+
+    @Override
+    public Object apply(String requestLine, Method method, Object[] args, Call call) throws Throwable {
+        if (!requestLine.startsWith("GET ") || !config.getEndpoints().contains(requestLine)) {
+            return call.proceed();
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(requestLine, key -> new Endpoint(config.getWindow()));
+        endpoint.calls.increment();
+        budget.deposit();
+
+        long start = System.nanoTime();
+        long delay = endpoint.latency.percentile(config.getPercentile(), config.getMinimumCalls());
+        if (delay < 0) {
+            // not enough calls measured yet, call directly
+            Object result = call.proceed();
+            endpoint.latency.add(System.nanoTime() - start);
+            return result;
+        }
+        delay = Math.max(delay, config.getMinDelay().toNanos());
+        Deadline deadline = Deadline.current();
+        Attempt primary = attempt(call, deadline, false);
+        record(endpoint, start, primary);
+        try {
+            return await(primary, delay);
+        } catch (TimeoutException e) {
+            // slower than the percentile, hedge
+        }
+        if (deadline != null && deadline.isExpired() || !budget.tryWithdraw()) {
+            endpoint.budgetExhausted.increment();
+            return await(primary);
+        }
+        endpoint.hedged.increment();
+        Attempt hedge = attempt(call, deadline, true);
+        try {
+            return await(firstSuccessful(primary, hedge, endpoint));
+        } finally {
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    /**
+     * @return Statistics keyed by endpoint request line
+     */
+    public Map<String, HedgeStats> snapshot() {
+        Map<String, HedgeStats> snapshot = new TreeMap<>();
+        endpoints.forEach((endpoint, counters) -> snapshot.put(endpoint, new HedgeStats(
+                counters.calls.sum(),
+                counters.hedged.sum(),
+                counters.hedgeWins.sum(),
+                counters.budgetExhausted.sum(),
+                Duration.ofNanos(Math.max(0, counters.latency.percentile(config.getPercentile(), 1))))));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private Attempt attempt(Call call, Deadline deadline, boolean hedge) {
+        Duration remaining = deadline != null ? Duration.ofNanos(Math.max(0, deadline.remainingNanos())) : null;
+        Attempt attempt = new Attempt();
+        executor.execute(() -> {
+            if (!attempt.start()) {
+                return;
+            }
+            try (Deadline.Scope scope = remaining != null ? Deadline.within(remaining) : null;
+                 CoalescingClient.Alone alone = hedge ? CoalescingClient.alone() : null) {
+                attempt.complete(call.proceed());
+            } catch (Throwable e) {
+                attempt.completeExceptionally(e);
+            } finally {
+                attempt.finish();
+            }
+        });
+        return attempt;
+    }
+
+    /**
+     * Measures the primary attempt whether hedged or not, so that the percentile is that of the endpoint's latency and
+     * not only of calls faster than the current delay. A primary cancelled after losing to its hedge is measured up
+     * to its cancellation, a lower bound of its latency. Failed attempts are not measured.
+     */
+    private static void record(Endpoint endpoint, long start, CompletableFuture<Object> primary) {
+        primary.whenComplete((result, e) -> {
+            if (e == null || e instanceof CancellationException) {
+                endpoint.latency.add(System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * Completes with the first successful result, or the last failure if both fail.
+     */
+    private static CompletableFuture<Object> firstSuccessful(CompletableFuture<Object> primary,
+                                                             CompletableFuture<Object> hedge,
+                                                             Endpoint endpoint) {
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        AtomicBoolean won = new AtomicBoolean();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<Object> future : Arrays.asList(primary, hedge)) {
+            future.whenComplete((result, e) -> {
+                if (e == null) {
+                    // count the win before the caller is released
+                    if (won.compareAndSet(false, true)) {
+                        if (future == hedge) {
+                            endpoint.hedgeWins.increment();
+                        }
+                        first.complete(result);
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    first.completeExceptionally(e);
+                }
+            });
+        }
+        return first;
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future, long timeoutNanos) throws Throwable {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Result of an attempt, interrupting the thread running it when cancelled.
+     */
+    private static class Attempt extends CompletableFuture<Object> {
+
+        private final Object lock = new Object();
+
+        private Thread runner;
+
+        private boolean interrupted;
+
+        /**
+         * @return Whether to run the attempt, false if it was cancelled before it started
+         */
+        boolean start() {
+            synchronized (lock) {
+                if (isDone()) {
+                    return false;
+                }
+                runner = Thread.currentThread();
+                return true;
+            }
+        }
+
+        void finish() {
+            synchronized (lock) {
+                runner = null;
+                if (interrupted) {
+                    // clear the interrupt before the thread runs another task
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && mayInterruptIfRunning) {
+                synchronized (lock) {
+                    if (runner != null) {
+                        interrupted = true;
+                        runner.interrupt();
+                    }
+                }
+            }
+            return cancelled;
+        }
+    }
+
+    private static class Endpoint {
+
+        final LatencyWindow latency;
+
+        final LongAdder calls = new LongAdder();
+
+        final LongAdder hedged = new LongAdder();
+
+        final LongAdder hedgeWins = new LongAdder();
+
+        final LongAdder budgetExhausted = new LongAdder();
+
+        Endpoint(int window) {
+            this.latency = new LatencyWindow(window);
+        }
+    }
+
+    /**
+     * Latency of the most recent calls.
+     */
+    private static class LatencyWindow {
+
+        private final long[] samples;
+
+        private int count;
+
+        private int next;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void add(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        /**
+         * @return The percentile in nanoseconds, or -1 with fewer than the minimum calls measured
+         */
+        long percentile(double percentile, int minimumCalls) {
+            long[] sorted;
+            synchronized (this) {
+                if (count < minimumCalls || count == 0) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            return sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /**
+     * Default executor, created on first use.
+     */
+    private static class HedgeExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ask-kodiak-hedge-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    @lombok.Value
+    public static class HedgeStats {
+
+        /**
+         * Calls made to the endpoint.
+         */
+        long calls;
+
+        /**
+         * Calls for which a hedge was sent.
+         */
+        long hedged;
+
+        /**
+         * Hedged calls answered by the hedge first.
+         */
+        long hedgeWins;
+
+        /**
+         * Calls slower than the percentile not hedged because the hedge budget was spent or the deadline had passed.
+         */
+        long budgetExhausted;
+
+        /**
+         * Current hedge delay, the configured percentile of recent latency.
+         */
+        Duration delay;
+
+        /**
+         * @return Share of calls hedged.
+         */
+        public double getHedgeRate() {
+            return calls == 0 ? 0.0 : (double) hedged / calls;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Hedging configuration, see {@link Hedging}.
+ * <pre>
+ * HedgingConfig.builder()
+ *         .percentile(0.9)
+ *         .maxHedgeRatio(0.05)
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class HedgingConfig {
+
+    /**
+     * Request lines of the endpoints hedged by default: NAICS code suggestions, products and product eligibility for a
+     * NAICS code.
+     */
+    public static final Set<String> DEFAULT_ENDPOINTS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "GET /v2/suggest/naics-codes/{term}",
+            "GET /v2/product/{id}",
+            "GET /v2/product/{id}/is-eligible-for/{code}")));
+
+    /**
+     * Request lines of the endpoints to hedge, only GET endpoints are hedged.
+     */
+    @lombok.Builder.Default
+    private final Set<String> endpoints = DEFAULT_ENDPOINTS;
+
+    /**
+     * Percentile of recent latency of the endpoint after which a call is hedged, e.g. 0.95 hedges the slowest 5%.
+     */
+    @lombok.Builder.Default
+    private final double percentile = 0.95;
+
+    /**
+     * Lower bound of the hedge delay, so that hedges are not sent while the API answers quickly anyway.
+     */
+    @lombok.Builder.Default
+    private final Duration minDelay = Duration.ofMillis(10);
+
+    /**
+     * Number of recent calls of an endpoint the percentile is measured over.
+     */
+    @lombok.Builder.Default
+    private final int window = 200;
+
+    /**
+     * Calls of an endpoint measured before its calls are hedged.
+     */
+    @lombok.Builder.Default
+    private final int minimumCalls = 20;
+
+    /**
+     * Hedges allowed as a fraction of calls, e.g. 0.05 allows one hedge for every twenty calls, bounding the load
+     * hedging adds when the API slows down as a whole.
+     */
+    @lombok.Builder.Default
+    private final double maxHedgeRatio = 0.05;
+
+    /**
+     * Hedges available before any calls were made, and the most the budget accumulates during quiet periods.
+     */
+    @lombok.Builder.Default
+    private final int hedgeReserve = 5;
+
+    public static HedgingConfig defaults() {
+        return builder().build();
+    }
+}
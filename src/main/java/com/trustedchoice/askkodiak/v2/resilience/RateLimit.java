@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import java.time.Duration;
+
+/**
+ * Rate limiting configuration, see {@link RateLimiter}.
+ * <pre>
+ * RateLimit.builder()
+ *         .permitsPerSecond(20)
+ *         .burst(40)
+ *         .maxWait(Duration.ofSeconds(30))
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class RateLimit {
+
+    /**
+     * Sustained number of requests per second.
+     */
+    @lombok.Builder.Default
+    private final double permitsPerSecond = 10.0;
+
+    /**
+     * Number of requests which may be sent at once after a quiet period.
+     */
+    @lombok.Builder.Default
+    private final int burst = 10;
+
+    /**
+     * Longest a call queues for a permit before it fails with a {@link RateLimitExceededException}. Zero fails fast
+     * whenever no permit is immediately available.
+     */
+    @lombok.Builder.Default
+    private final Duration maxWait = Duration.ofSeconds(10);
+
+    /**
+     * Whether each endpoint, identified by its request line such as {@code GET /v2/product/{id}}, is limited by a
+     * bucket of its own instead of all endpoints sharing one.
+     */
+    @lombok.Builder.Default
+    private final boolean perEndpoint = false;
+
+    /**
+     * Lowest rate the limiter slows down to after the API throttled requests, as a fraction of
+     * {@link #permitsPerSecond}.
+     */
+    @lombok.Builder.Default
+    private final double minRateFraction = 0.1;
+
+    public static RateLimit defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client side rate limiter pacing requests with a token bucket, see {@link RateLimitingClient}.
+ * <p>
+ * Calls wait for a permit up to {@link RateLimit#getMaxWait()} and fail with a {@link RateLimitExceededException}
+ * beyond it, rather than adding to the load of a server which is already throttling. The rate adapts to the server:
+ * a 429 response halves it and pauses the bucket for the server's {@code Retry-After}, or {@code X-RateLimit-Reset}
+ * once {@code X-RateLimit-Remaining} reaches 0, successful responses restore it gradually.
+ * <p>
+ * A single instance may be shared by several clients which then share their permits, for example all clients using
+ * the same API key.
+ */
+public class RateLimiter {
+
+    /**
+     * Bucket key when endpoints share a bucket.
+     */
+    static final String ALL_ENDPOINTS = "*";
+
+    private final RateLimit config;
+
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimit config) {
+        if (config.getPermitsPerSecond() <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.config = config;
+    }
+
+    public RateLimit getConfig() {
+        return config;
+    }
+
+    Bucket bucket(String requestLine) {
+        String key = config.isPerEndpoint() ? requestLine : ALL_ENDPOINTS;
+        return buckets.computeIfAbsent(key, k -> new Bucket(new TokenBucket(config, System.nanoTime())));
+    }
+
+    /**
+     * @return Statistics keyed by endpoint request line, see
+     * {@link com.trustedchoice.askkodiak.v2.transport.Endpoints#requestLine(feign.Request)}, or by {@code *} when
+     * endpoints share a bucket
+     */
+    public Map<String, BucketStats> snapshot() {
+        Map<String, BucketStats> snapshot = new TreeMap<>();
+        buckets.forEach((key, bucket) -> snapshot.put(key, new BucketStats(
+                bucket.tokens.rate(),
+                bucket.permitted.sum(),
+                bucket.delayed.sum(),
+                bucket.rejected.sum(),
+                bucket.throttled.sum())));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    static class Bucket {
+
+        final TokenBucket tokens;
+
+        final LongAdder permitted = new LongAdder();
+
+        final LongAdder delayed = new LongAdder();
+
+        final LongAdder rejected = new LongAdder();
+
+        final LongAdder throttled = new LongAdder();
+
+        Bucket(TokenBucket tokens) {
+            this.tokens = tokens;
+        }
+    }
+
+    @lombok.Value
+    public static class BucketStats {
+
+        /**
+         * Current rate in permits per second, lower than configured while recovering from throttling.
+         */
+        double permitsPerSecond;
+
+        /**
+         * Requests sent.
+         */
+        long permitted;
+
+        /**
+         * Requests which waited for a permit before being sent.
+         */
+        long delayed;
+
+        /**
+         * Calls failed with a {@link RateLimitExceededException} without sending a request.
+         */
+        long rejected;
+
+        /**
+         * Responses with status 429.
+         */
+        long throttled;
+    }
+}
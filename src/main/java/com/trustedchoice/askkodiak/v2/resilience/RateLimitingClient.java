@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import com.trustedchoice.askkodiak.v2.transport.Endpoints;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorates a {@link Client} to pace requests with a {@link RateLimiter}, waiting for a permit before each request and
+ * adapting the rate to the 429 responses and rate limit headers received. A request does not wait beyond its
+ * {@link Deadline}.
+ */
+public class RateLimitingClient implements Client {
+
+    private final Client delegate;
+
+    private final RateLimiter limiter;
+
+    public RateLimitingClient(Client delegate, RateLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        RateLimiter.Bucket bucket = limiter.bucket(Endpoints.requestLine(request));
+        long maxWait = limiter.getConfig().getMaxWait().toNanos();
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            maxWait = Math.max(0, Math.min(maxWait, deadline.remainingNanos()));
+        }
+        long wait = bucket.tokens.reserve(System.nanoTime(), maxWait);
+        if (wait < 0) {
+            bucket.rejected.increment();
+            throw new RateLimitExceededException("Client side rate limit exceeded for " + Endpoints.requestLine(request),
+                    Duration.ofNanos(-wait));
+        }
+        if (wait > 0) {
+            bucket.delayed.increment();
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a rate limit permit");
+            }
+        }
+        bucket.permitted.increment();
+
+        Response response = delegate.execute(request, options);
+        long delay = RetryAfter.delayMillis(response.headers(), System.currentTimeMillis());
+        if (response.status() == 429) {
+            bucket.throttled.increment();
+            bucket.tokens.onThrottled(System.nanoTime(), delay >= 0 ? TimeUnit.MILLISECONDS.toNanos(delay) : -1);
+        } else if (delay > 0) {
+            bucket.tokens.pause(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(delay));
+        } else if (response.status() < 500) {
+            bucket.tokens.onSuccess();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads the delay a server asks clients to wait from response headers.
+ */
+final class RetryAfter {
+
+    /**
+     * Values of rate limit reset headers above this are epoch seconds rather than a delay in seconds.
+     */
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    private RetryAfter() {
+    }
+
+    /**
+     * @param headers   Response headers
+     * @param nowMillis Current time in epoch milliseconds
+     * @return Delay in milliseconds from {@code Retry-After}, or from {@code X-RateLimit-Reset} when
+     * {@code X-RateLimit-Remaining} is 0, or -1 when the headers do not ask for a delay
+     */
+    static long delayMillis(Map<String, Collection<String>> headers, long nowMillis) {
+        String retryAfter = header(headers, "Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+            } catch (NumberFormatException e) {
+                try {
+                    long at = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                            .toInstant().toEpochMilli();
+                    return Math.max(0, at - nowMillis);
+                } catch (DateTimeParseException ignored) {
+                    // malformed, fall through to the rate limit headers
+                }
+            }
+        }
+        String remaining = header(headers, "X-RateLimit-Remaining");
+        String reset = header(headers, "X-RateLimit-Reset");
+        if ("0".equals(remaining != null ? remaining.trim() : null) && reset != null) {
+            try {
+                long value = Long.parseLong(reset.trim());
+                return Math.max(0, value > EPOCH_SECONDS_THRESHOLD ? value * 1000 - nowMillis : value * 1000);
+            } catch (NumberFormatException ignored) {
+                // malformed
+            }
+        }
+        return -1;
+    }
+
+    private static String header(Map<String, Collection<String>> headers, String name) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+}
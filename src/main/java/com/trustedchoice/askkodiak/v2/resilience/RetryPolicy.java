@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import java.time.Duration;
+
+/**
+ * Retry configuration, see {@link BackoffRetryer}.
+ * <pre>
+ * RetryPolicy.builder()
+ *         .maxAttempts(4)
+ *         .baseDelay(Duration.ofMillis(200))
+ *         .budgetRatio(0.2)
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class RetryPolicy {
+
+    /**
+     * Maximum number of attempts per call, including the first.
+     */
+    @lombok.Builder.Default
+    private final int maxAttempts = 3;
+
+    /**
+     * Upper bound of the delay before the first retry, doubled for every further retry. The actual delay is drawn
+     * uniformly between zero and the bound so that clients failing together do not retry together.
+     */
+    @lombok.Builder.Default
+    private final Duration baseDelay = Duration.ofMillis(100);
+
+    /**
+     * Upper bound of any delay. A call is not retried when the server asks to wait longer than this.
+     */
+    @lombok.Builder.Default
+    private final Duration maxDelay = Duration.ofSeconds(5);
+
+    /**
+     * Retries allowed as a fraction of calls, e.g. 0.1 allows one retry for every ten calls, so that retries add at
+     * most this share of load when the API is failing.
+     */
+    @lombok.Builder.Default
+    private final double budgetRatio = 0.1;
+
+    /**
+     * Retries available before any calls were made, and the most the budget accumulates during quiet periods.
+     */
+    @lombok.Builder.Default
+    private final int budgetReserve = 10;
+
+    public static RetryPolicy defaults() {
+        return builder().build();
+    }
+}
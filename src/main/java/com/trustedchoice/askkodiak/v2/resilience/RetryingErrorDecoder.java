@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+import feign.Response;
+import feign.RetryableException;
+import feign.codec.ErrorDecoder;
+
+import java.util.Date;
+
+/**
+ * Decorates an {@link ErrorDecoder} to mark retryable {@link AskKodiakException}s, see
+ * {@link AskKodiakException#isRetryable()}, by wrapping them in a {@link RetryableException} carrying any delay the
+ * server asked for. {@link BackoffRetryer} unwraps them again when it gives up.
+ */
+public class RetryingErrorDecoder implements ErrorDecoder {
+
+    private final ErrorDecoder delegate;
+
+    public RetryingErrorDecoder(ErrorDecoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Exception decode(String methodKey, Response response) {
+        Exception exception = delegate.decode(methodKey, response);
+        if (exception instanceof AskKodiakException && ((AskKodiakException) exception).isRetryable()) {
+            long now = System.currentTimeMillis();
+            long delay = RetryAfter.delayMillis(response.headers(), now);
+            return new RetryableException(response.status(), exception.getMessage(),
+                    response.request().httpMethod(), exception, delay >= 0 ? new Date(now + delay) : null,
+                    response.request());
+        }
+        return exception;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import com.trustedchoice.askkodiak.v2.transport.Endpoints;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorates a {@link Client} to apply the {@link Timeouts} of the endpoint requested, shortened to the time remaining
+ * until the {@link Deadline} of the current thread if any.
+ */
+public class TimeoutClient implements Client {
+
+    private final Client delegate;
+
+    private final Timeouts timeouts;
+
+    public TimeoutClient(Client delegate, Timeouts timeouts) {
+        this.delegate = delegate;
+        this.timeouts = timeouts;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Timeouts.Timeout timeout = timeouts.getEndpoints().get(Endpoints.requestLine(request));
+        long connect = timeout != null ? timeout.getConnect().toMillis()
+                : timeouts.getConnectTimeout() != null ? timeouts.getConnectTimeout().toMillis()
+                : options.connectTimeoutMillis();
+        long read = timeout != null ? timeout.getRead().toMillis()
+                : timeouts.getReadTimeout() != null ? timeouts.getReadTimeout().toMillis()
+                : options.readTimeoutMillis();
+
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline.remainingNanos());
+            if (remaining <= 0) {
+                throw new DeadlineExceededException("Deadline passed before calling " + Endpoints.requestLine(request));
+            }
+            connect = Math.min(connect, remaining);
+            read = Math.min(read, remaining);
+        }
+        if (connect != options.connectTimeoutMillis() || read != options.readTimeoutMillis()) {
+            options = new Request.Options(connect, TimeUnit.MILLISECONDS, read, TimeUnit.MILLISECONDS,
+                    options.isFollowRedirects());
+        }
+        return delegate.execute(request, options);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Connect and read timeouts per endpoint, keyed by request line, applied by {@link TimeoutClient}.
+ * <pre>
+ * Timeouts.builder()
+ *         .endpoint("GET /v2/suggest/naics-codes/{term}", Timeouts.Timeout.of(Duration.ofMillis(500), Duration.ofSeconds(2)))
+ *         .endpoint("GET /v2/products/by-company", Timeouts.Timeout.of(Duration.ofSeconds(5), Duration.ofSeconds(120)))
+ *         .build();
+ * </pre>
+ */
+@lombok.Builder
+@lombok.Getter
+public class Timeouts {
+
+    /**
+     * Connect timeout of endpoints without their own, {@code null} for that of the client's {@link feign.Request.Options}.
+     */
+    private final Duration connectTimeout;
+
+    /**
+     * Read timeout of endpoints without their own, {@code null} for that of the client's {@link feign.Request.Options}.
+     */
+    private final Duration readTimeout;
+
+    /**
+     * Timeouts by endpoint request line, e.g. {@code GET /v2/product/{id}}.
+     */
+    @lombok.Singular
+    private final Map<String, Timeout> endpoints;
+
+    /**
+     * @return The client's {@link feign.Request.Options} for every endpoint
+     */
+    public static Timeouts defaults() {
+        return builder().build();
+    }
+
+    @lombok.Value(staticConstructor = "of")
+    public static class Timeout {
+
+        Duration connect;
+
+        Duration read;
+    }
+}
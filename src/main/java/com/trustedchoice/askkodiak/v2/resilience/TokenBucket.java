@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+/**
+ * Token bucket whose rate adapts to throttling by the server: halved on every 429 response and paused for any delay
+ * the server asks for, then increased additively back to the configured rate as requests succeed.
+ * <p>
+ * Permits are reserved in arrival order, a negative token count represents callers already queued for a future
+ * permit so that waiting callers do not race each other.
+ */
+class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final double maxRate;
+
+    private final double minRate;
+
+    private final int burst;
+
+    private double rate;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    TokenBucket(RateLimit config, long now) {
+        this.maxRate = config.getPermitsPerSecond();
+        this.minRate = maxRate * config.getMinRateFraction();
+        this.burst = Math.max(1, config.getBurst());
+        this.rate = maxRate;
+        this.tokens = burst;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Reserve a permit.
+     *
+     * @param now          Current {@link System#nanoTime()}
+     * @param maxWaitNanos Longest the caller accepts to wait
+     * @return Nanoseconds the caller must wait before sending, or the negated wait when it exceeds
+     * {@code maxWaitNanos}, in which case no permit was reserved
+     */
+    synchronized long reserve(long now, long maxWaitNanos) {
+        refill(now);
+        long wait = Math.max(0, refilledAt - now);
+        if (tokens < 1) {
+            wait += (long) ((1 - tokens) / rate * NANOS_PER_SECOND);
+        }
+        if (wait > maxWaitNanos) {
+            return -Math.max(1, wait);
+        }
+        tokens -= 1;
+        return wait;
+    }
+
+    /**
+     * The server accepted a request.
+     */
+    synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + maxRate / 50);
+    }
+
+    /**
+     * The server throttled a request.
+     *
+     * @param now        Current {@link System#nanoTime()}
+     * @param delayNanos Delay the server asked for, or -1
+     */
+    synchronized void onThrottled(long now, long delayNanos) {
+        refill(now);
+        rate = Math.max(minRate, rate / 2);
+        tokens = Math.min(tokens, 0);
+        if (delayNanos > 0) {
+            // no tokens accrue until the delay has passed
+            refilledAt = Math.max(refilledAt, now + delayNanos);
+        }
+    }
+
+    /**
+     * The server asked for a delay without throttling the request, e.g. its rate limit window is exhausted.
+     *
+     * @param now        Current {@link System#nanoTime()}
+     * @param delayNanos Delay the server asked for
+     */
+    synchronized void pause(long now, long delayNanos) {
+        refill(now);
+        tokens = Math.min(tokens, 0);
+        refilledAt = Math.max(refilledAt, now + delayNanos);
+    }
+
+    synchronized double rate() {
+        return rate;
+    }
+
+    private void refill(long now) {
+        if (now > refilledAt) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) / NANOS_PER_SECOND * rate);
+            refilledAt = now;
+        }
+    }
+}
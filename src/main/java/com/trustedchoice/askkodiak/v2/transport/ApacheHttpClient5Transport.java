@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link PooledTransport} backed by <a href="https://hc.apache.org/httpcomponents-client-5.0.x/">Apache
+ * HttpClient 5</a>. Requires {@code org.apache.httpcomponents.client5:httpclient5} on the classpath.
+ * <p>
+ * All {@link PoolSettings} are honored. Idle connections are evicted by a background thread owned by the underlying
+ * client which is stopped by {@link #close()}.
+ */
+public class ApacheHttpClient5Transport implements PooledTransport {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final CloseableHttpClient httpClient;
+
+    private final Client client = this::execute;
+
+    public ApacheHttpClient5Transport() {
+        this(PoolSettings.defaults());
+    }
+
+    public ApacheHttpClient5Transport(PoolSettings settings) {
+        this(HttpClients.custom(), settings);
+    }
+
+    /**
+     * @param builder  A pre-configured client builder (e.g. with custom TLS or proxy settings). The connection manager
+     *                 will be replaced.
+     * @param settings Pool settings
+     */
+    public ApacheHttpClient5Transport(HttpClientBuilder builder, PoolSettings settings) {
+        PoolingHttpClientConnectionManagerBuilder connectionManagerBuilder =
+                PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(settings.getMaxConnections())
+                        .setMaxConnPerRoute(settings.getMaxConnectionsPerRoute());
+        if (settings.getTimeToLive() != null) {
+            connectionManagerBuilder.setConnectionTimeToLive(
+                    TimeValue.ofMilliseconds(settings.getTimeToLive().toMillis()));
+        }
+        this.connectionManager = connectionManagerBuilder.build();
+        this.httpClient = builder
+                .setConnectionManager(connectionManager)
+                .evictIdleConnections(TimeValue.ofMilliseconds(settings.getIdleTimeout().toMillis()))
+                .evictExpiredConnections()
+                .disableContentCompression()
+                .disableCookieManagement()
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Override
+    public Client client() {
+        return client;
+    }
+
+    @Override
+    public Optional<PoolStats> poolStats() {
+        org.apache.hc.core5.pool.PoolStats stats = connectionManager.getTotalStats();
+        return Optional.of(new PoolStats(stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax()));
+    }
+
+    @Override
+    public void close() {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+    private Response execute(Request request, Request.Options options) throws IOException {
+        HttpUriRequestBase httpRequest = new HttpUriRequestBase(request.httpMethod().name(), URI.create(request.url()));
+        httpRequest.setConfig(RequestConfig.custom()
+                .setConnectTimeout(Timeout.of(options.connectTimeout(), options.connectTimeoutUnit()))
+                .setResponseTimeout(Timeout.of(options.readTimeout(), options.readTimeoutUnit()))
+                .setRedirectsEnabled(options.isFollowRedirects())
+                .build());
+
+        String contentType = null;
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            // content length is derived from the entity
+            if (header.getKey().equalsIgnoreCase(Util.CONTENT_LENGTH)) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                if (header.getKey().equalsIgnoreCase("Content-Type")) {
+                    contentType = value;
+                }
+                httpRequest.addHeader(header.getKey(), value);
+            }
+        }
+        if (request.body() != null) {
+            httpRequest.setEntity(new ByteArrayEntity(request.body(),
+                    contentType == null ? null : ContentType.parseLenient(contentType)));
+        }
+
+        CloseableHttpResponse httpResponse = httpClient.execute(httpRequest);
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        for (Header header : httpResponse.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+
+        Response.Builder response = Response.builder()
+                .status(httpResponse.getCode())
+                .reason(httpResponse.getReasonPhrase())
+                .headers(headers)
+                .request(request);
+
+        HttpEntity entity = httpResponse.getEntity();
+        if (entity == null) {
+            httpResponse.close();
+            return response.build();
+        }
+        long length = entity.getContentLength();
+        // closing the content stream releases the connection back to the pool
+        InputStream content = entity.getContent();
+        return response
+                .body(content, length >= 0 && length <= Integer.MAX_VALUE ? (int) length : null)
+                .build();
+    }
+}
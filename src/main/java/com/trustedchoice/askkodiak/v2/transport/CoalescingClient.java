@@ -0,0 +1,210 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import com.trustedchoice.askkodiak.v2.codec.SharedBody;
+import com.trustedchoice.askkodiak.v2.resilience.Deadline;
+import com.trustedchoice.askkodiak.v2.resilience.DeadlineExceededException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decorates a {@link Client} so that identical concurrent GET requests share a single request in flight.
+ * <p>
+ * Requests are keyed by their fully expanded URL, after every request interceptor has been applied, other headers are
+ * not part of the key. The first call sends the request and buffers the response, calls for the same URL arriving
+ * before it completes wait for and receive that response instead of sending their own. Responses carry a
+ * {@link SharedBody} so that, combined with a {@link com.trustedchoice.askkodiak.v2.codec.MemoizingDecoder}, the body
+ * is decoded once and every caller receives the same object. Failures are shared in the same way.
+ * <p>
+ * A waiting call gives up once its own read timeout, or its {@link Deadline}, has passed, failing as its own request
+ * would have. Placed behind a {@link com.trustedchoice.askkodiak.v2.resilience.TimeoutClient}, the read timeout is
+ * that of the endpoint.
+ */
+public class CoalescingClient implements Client {
+
+    private static final ThreadLocal<Boolean> ALONE = new ThreadLocal<>();
+
+    private final Client delegate;
+
+    private final CoalescingStats stats;
+
+    private final ConcurrentMap<String, CompletableFuture<Shared>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate Client executing the requests
+     * @param stats    Statistics to record into, or {@code null}
+     */
+    public CoalescingClient(Client delegate, CoalescingStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET || request.body() != null || ALONE.get() != null) {
+            return delegate.execute(request, options);
+        }
+        CoalescingStats.Counters counters = stats != null ? stats.counters(Endpoints.requestLine(request)) : null;
+        CompletableFuture<Shared> flight = new CompletableFuture<>();
+        CompletableFuture<Shared> existing = inFlight.putIfAbsent(request.url(), flight);
+        if (existing != null) {
+            if (counters != null) {
+                counters.hits.increment();
+            }
+            return await(existing, request, options).response(request);
+        }
+        if (counters != null) {
+            counters.misses.increment();
+        }
+        try {
+            Shared shared = send(request, options);
+            flight.complete(shared);
+            return shared.response(request);
+        } catch (IOException | RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(request.url(), flight);
+        }
+    }
+
+    /**
+     * Send the requests made on the current thread on their own, rather than joining identical requests in flight,
+     * until the returned scope is closed. Used by requests racing an identical one, such as hedges.
+     *
+     * @return Scope to close
+     */
+    public static Alone alone() {
+        ALONE.set(Boolean.TRUE);
+        return new Alone();
+    }
+
+    private Shared send(Request request, Request.Options options) throws IOException {
+        try (Response response = delegate.execute(request, options)) {
+            SharedBody body;
+            if (response.body() == null || response.body() instanceof SharedBody) {
+                body = (SharedBody) response.body();
+            } else {
+                body = new SharedBody(Util.toByteArray(response.body().asInputStream()));
+            }
+            return new Shared(response.status(), response.reason(), response.headers(), body);
+        }
+    }
+
+    /**
+     * Wait for the response of an identical request in flight, no longer than the caller's own read timeout or
+     * {@link Deadline} would let its request take.
+     */
+    private static Shared await(CompletableFuture<Shared> flight, Request request, Request.Options options)
+            throws IOException {
+        long timeout = options.readTimeoutMillis() > 0
+                ? TimeUnit.MILLISECONDS.toNanos(options.readTimeoutMillis())
+                : Long.MAX_VALUE;
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            timeout = Math.min(timeout, deadline.remainingNanos());
+            if (timeout <= 0) {
+                throw new DeadlineExceededException("Deadline passed before calling " + Endpoints.requestLine(request));
+            }
+        }
+        try {
+            return flight.get(timeout, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (deadline != null && deadline.isExpired()) {
+                throw new DeadlineExceededException("Deadline passed waiting for coalesced call of "
+                        + Endpoints.requestLine(request));
+            }
+            throw new SocketTimeoutException("Read timed out waiting for coalesced request");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for coalesced request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                // a new exception so that the stack trace shows this caller
+                throw new IOException(cause.getMessage(), cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    /**
+     * Scope opened by {@link #alone()}.
+     */
+    public static final class Alone implements AutoCloseable {
+
+        private Alone() {
+        }
+
+        @Override
+        public void close() {
+            ALONE.remove();
+        }
+    }
+
+    /**
+     * A buffered response, handed to every caller of a coalesced request.
+     */
+    @lombok.Value
+    private static class Shared {
+
+        int status;
+
+        String reason;
+
+        Map<String, Collection<String>> headers;
+
+        SharedBody body;
+
+        Response response(Request request) {
+            return Response.builder()
+                    .status(status)
+                    .reason(reason)
+                    .headers(headers)
+                    .request(request)
+                    .body(body)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per endpoint counters recorded by {@link CoalescingClient}. A hit is a call which joined an identical request already
+ * in flight, a miss is a call which was sent. A single instance may be shared by several clients.
+ */
+public class CoalescingStats {
+
+    private final ConcurrentMap<String, Counters> endpoints = new ConcurrentHashMap<>();
+
+    Counters counters(String requestLine) {
+        return endpoints.computeIfAbsent(requestLine, key -> new Counters());
+    }
+
+    /**
+     * @return Statistics keyed by endpoint request line, see {@link Endpoints#requestLine(feign.Request)}
+     */
+    public Map<String, EndpointStats> snapshot() {
+        Map<String, EndpointStats> snapshot = new TreeMap<>();
+        endpoints.forEach((endpoint, counters) -> snapshot.put(endpoint, new EndpointStats(
+                counters.hits.sum(),
+                counters.misses.sum())));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    static class Counters {
+
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder misses = new LongAdder();
+    }
+
+    @lombok.Value
+    public static class EndpointStats {
+
+        /**
+         * Calls served by a request another call already had in flight.
+         */
+        long hits;
+
+        /**
+         * Calls which sent their own request.
+         */
+        long misses;
+
+        /**
+         * @return Share of calls which did not send a request.
+         */
+        public double getHitRatio() {
+            long calls = hits + misses;
+            return calls == 0 ? 0.0 : (double) hits / calls;
+        }
+    }
+}
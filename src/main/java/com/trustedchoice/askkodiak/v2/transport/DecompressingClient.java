@@ -0,0 +1,234 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decorates a {@link Client} to transparently decompress gzip and deflate encoded responses, see
+ * {@link com.trustedchoice.askkodiak.v2.interceptor.AcceptEncodingRequestInterceptor}.
+ * <p>
+ * Bodies are decompressed as they are read so the decoder consumes the stream directly and the response is never
+ * buffered in full. The {@code Content-Encoding} and {@code Content-Length} headers are removed from decompressed
+ * responses as they no longer describe the body.
+ * <p>
+ * Some clients decompress successful responses themselves yet keep the {@code Content-Encoding} header, notably
+ * {@link Client.Default} used by {@link JdkTransport} and when no transport is configured. A body the delegate already
+ * decompressed is passed through as is, its compressed size is then taken from its declared length.
+ */
+public class DecompressingClient implements Client {
+
+    private final Client delegate;
+
+    private final CompressionStats stats;
+
+    /**
+     * @param delegate Client executing the requests
+     * @param stats    Statistics to record into, or {@code null}
+     */
+    public DecompressingClient(Client delegate, CompressionStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Response response = delegate.execute(request, options);
+        if (response.body() == null) {
+            return response;
+        }
+        String encoding = contentEncoding(response);
+        boolean compressed = Util.ENCODING_GZIP.equalsIgnoreCase(encoding)
+                || Util.ENCODING_DEFLATE.equalsIgnoreCase(encoding);
+        if (!compressed && stats == null) {
+            return response;
+        }
+
+        CompressionStats.Counters counters = stats == null ? null : stats.counters(Endpoints.requestLine(request));
+        if (!compressed) {
+            return response.toBuilder()
+                    .body(new DecodedBody(response.body(), null, counters))
+                    .build();
+        }
+
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.headers());
+        headers.remove(Util.CONTENT_ENCODING);
+        headers.remove(Util.CONTENT_LENGTH);
+        return response.toBuilder()
+                .headers(headers)
+                .body(new DecodedBody(response.body(), encoding, counters))
+                .build();
+    }
+
+    private static String contentEncoding(Response response) {
+        for (Map.Entry<String, Collection<String>> header : response.headers().entrySet()) {
+            if (header.getKey().equalsIgnoreCase(Util.CONTENT_ENCODING) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next().trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Body decoding the underlying stream lazily, so that empty bodies (e.g. of a HEAD request or a 304) never attempt
+     * to read a compression header.
+     */
+    private static class DecodedBody implements Response.Body {
+
+        private final Response.Body body;
+
+        private final String encoding;
+
+        private final CompressionStats.Counters counters;
+
+        private InputStream stream;
+
+        DecodedBody(Response.Body body, String encoding, CompressionStats.Counters counters) {
+            this.body = body;
+            this.encoding = encoding;
+            this.counters = counters;
+        }
+
+        @Override
+        public Integer length() {
+            return encoding == null ? body.length() : null;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            if (stream == null) {
+                InputStream wire = body.asInputStream();
+                boolean decompressed = encoding != null && isDecompressed(wire);
+                if (counters != null) {
+                    counters.responses.increment();
+                    if (decompressed) {
+                        Integer length = body.length();
+                        if (length != null) {
+                            counters.wireBytes.add(length);
+                        }
+                    } else {
+                        wire = new CountingInputStream(wire, counters.wireBytes);
+                    }
+                }
+                if (encoding == null || decompressed) {
+                    stream = wire;
+                } else {
+                    stream = Util.ENCODING_GZIP.equalsIgnoreCase(encoding)
+                            ? new GZIPInputStream(wire)
+                            : new InflaterInputStream(wire);
+                }
+                if (encoding != null && counters != null) {
+                    counters.compressedResponses.increment();
+                }
+                if (counters != null) {
+                    stream = new CountingInputStream(stream, counters.decodedBytes);
+                }
+            }
+            return stream;
+        }
+
+        /**
+         * Whether the delegate already decompressed the body, {@link GZIPInputStream} being an
+         * {@link InflaterInputStream} as well.
+         */
+        private static boolean isDecompressed(InputStream wire) {
+            return wire instanceof InflaterInputStream;
+        }
+
+        @Override
+        public Reader asReader(Charset charset) throws IOException {
+            return new InputStreamReader(asInputStream(), charset);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+            } finally {
+                body.close();
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final LongAdder count;
+
+        CountingInputStream(InputStream in, LongAdder count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count.add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count.add(skipped);
+            return skipped;
+        }
+    }
+}
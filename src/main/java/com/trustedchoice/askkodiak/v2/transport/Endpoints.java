@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+
+/**
+ * Helpers for identifying which {@link com.trustedchoice.askkodiak.v2.client.AskKodiak} endpoint a request belongs to.
+ */
+public final class Endpoints {
+
+    private Endpoints() {
+    }
+
+    /**
+     * The request line of the endpoint as declared on {@link feign.RequestLine}, e.g.
+     * {@code GET /v2/suggest/naics-codes/{term}}. All calls to the same endpoint share the same request line regardless
+     * of their parameters, which makes it suitable for keying per endpoint metrics and policies.
+     *
+     * @param request Request
+     * @return Request line template, or the method and url of the request if it was not created by Feign
+     */
+    public static String requestLine(Request request) {
+        RequestTemplate template = request.requestTemplate();
+        MethodMetadata metadata = template == null ? null : template.methodMetadata();
+        if (metadata == null) {
+            return request.httpMethod() + " " + request.url();
+        }
+        return metadata.template().method() + " " + metadata.template().path();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import feign.Client;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link PooledTransport} backed by the {@code java.net.http.HttpClient} introduced in Java 11, negotiating HTTP/2 so
+ * that concurrent requests are multiplexed over a single connection.
+ * <p>
+ * The SDK is distributed as a multi-release jar, this is the Java 8 variant of the class which is only loaded on Java
+ * versions lacking {@code java.net.http}. Its constructors throw {@link UnsupportedOperationException}, check
+ * {@link #isSupported()} before constructing an instance, e.g. to fall back to another transport:
+ * <pre>
+ * PooledTransport transport = Http2Transport.isSupported() ? new Http2Transport() : new OkHttpTransport();
+ * </pre>
+ */
+public class Http2Transport implements PooledTransport {
+
+    /**
+     * @return Whether HTTP/2 is supported by the running JVM.
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * @throws UnsupportedOperationException always, HTTP/2 requires Java 11 or above
+     */
+    public Http2Transport() {
+        this(Duration.ofSeconds(10), null);
+    }
+
+    /**
+     * @param connectTimeout Connect timeout, applied to every connection as java.net.http does not support per request
+     *                       connect timeouts.
+     * @param executor       Executor for asynchronous tasks of the underlying client, or {@code null} for the JDK's
+     *                       default.
+     * @throws UnsupportedOperationException always, HTTP/2 requires Java 11 or above
+     */
+    public Http2Transport(Duration connectTimeout, Executor executor) {
+        throw new UnsupportedOperationException("HTTP/2 transport requires Java 11 or above");
+    }
+
+    @Override
+    public Client client() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<PoolStats> poolStats() {
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+    }
+}
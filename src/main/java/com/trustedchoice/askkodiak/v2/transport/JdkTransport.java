@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import feign.Client;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLSocketFactory;
+import java.util.Optional;
+
+/**
+ * {@link PooledTransport} backed by the JDK's {@link java.net.HttpURLConnection}. This is the transport used when no
+ * other is configured and requires no additional dependencies.
+ * <p>
+ * The JDK keeps a JVM wide keep-alive cache which is not configurable per client and does not expose statistics. Its
+ * size per destination is controlled by the {@code http.maxConnections} system property (default 5) and it may be
+ * disabled entirely with {@code http.keepAlive=false}. Consequently {@link PoolSettings} are not applied by this
+ * transport and {@link #poolStats()} is always empty; use {@link OkHttpTransport} or
+ * {@link ApacheHttpClient5Transport} when the pool needs to be tuned or observed.
+ */
+public class JdkTransport implements PooledTransport {
+
+    private final Client client;
+
+    public JdkTransport() {
+        this(null, null);
+    }
+
+    public JdkTransport(SSLSocketFactory sslSocketFactory, HostnameVerifier hostnameVerifier) {
+        this.client = new Client.Default(sslSocketFactory, hostnameVerifier);
+    }
+
+    @Override
+    public Client client() {
+        return client;
+    }
+
+    @Override
+    public Optional<PoolStats> poolStats() {
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+        // the keep-alive cache belongs to the JVM
+    }
+}
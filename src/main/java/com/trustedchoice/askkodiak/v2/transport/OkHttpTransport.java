@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import feign.Client;
+import feign.okhttp.OkHttpClient;
+import okhttp3.ConnectionPool;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PooledTransport} backed by <a href="https://square.github.io/okhttp/">OkHttp</a>. Requires
+ * {@code io.github.openfeign:feign-okhttp} on the classpath.
+ * <p>
+ * OkHttp does not cap the number of connections used by synchronous calls, {@link PoolSettings#getMaxConnectionsPerRoute()}
+ * instead bounds the number of idle connections kept alive for reuse. {@link PoolSettings#getTimeToLive()} is not
+ * supported.
+ */
+public class OkHttpTransport implements PooledTransport {
+
+    private final okhttp3.OkHttpClient okHttpClient;
+
+    private final ConnectionPool connectionPool;
+
+    private final int maxIdleConnections;
+
+    private final Client client;
+
+    public OkHttpTransport() {
+        this(PoolSettings.defaults());
+    }
+
+    public OkHttpTransport(PoolSettings settings) {
+        this(new okhttp3.OkHttpClient.Builder(), settings);
+    }
+
+    /**
+     * @param builder  A pre-configured OkHttp builder (e.g. with custom TLS or proxy settings). The connection pool
+     *                 will be replaced.
+     * @param settings Pool settings
+     */
+    public OkHttpTransport(okhttp3.OkHttpClient.Builder builder, PoolSettings settings) {
+        this.maxIdleConnections = settings.getMaxConnectionsPerRoute();
+        this.connectionPool = new ConnectionPool(maxIdleConnections,
+                settings.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        this.okHttpClient = builder.connectionPool(connectionPool).build();
+        this.client = new OkHttpClient(okHttpClient);
+    }
+
+    @Override
+    public Client client() {
+        return client;
+    }
+
+    @Override
+    public Optional<PoolStats> poolStats() {
+        int idle = connectionPool.idleConnectionCount();
+        return Optional.of(new PoolStats(connectionPool.connectionCount() - idle, idle, 0, maxIdleConnections));
+    }
+
+    @Override
+    public void close() {
+        connectionPool.evictAll();
+        okHttpClient.dispatcher().executorService().shutdown();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import java.time.Duration;
+
+/**
+ * Connection pool tuning shared by all {@link PooledTransport} implementations. Not every transport is able to honor
+ * every setting, see the documentation of each transport for details.
+ */
+@lombok.Builder
+@lombok.Getter
+public class PoolSettings {
+
+    /**
+     * Maximum number of connections held open across all routes.
+     */
+    @lombok.Builder.Default
+    private final int maxConnections = 200;
+
+    /**
+     * Maximum number of connections held open to a single route (scheme, host and port). As every Ask Kodiak request
+     * targets the same host this is effectively the size of the pool.
+     */
+    @lombok.Builder.Default
+    private final int maxConnectionsPerRoute = 50;
+
+    /**
+     * Connections idle for longer than this are evicted from the pool. This should be shorter than the keep-alive
+     * timeout of the server and any load balancer in front of it, otherwise requests will be sent on connections that
+     * have already been closed by the other side.
+     */
+    @lombok.Builder.Default
+    private final Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum lifetime of a pooled connection regardless of activity, or {@code null} for no limit. Bounding the
+     * lifetime allows DNS changes to be picked up.
+     */
+    private final Duration timeToLive;
+
+    public static PoolSettings defaults() {
+        return PoolSettings.builder().build();
+    }
+}
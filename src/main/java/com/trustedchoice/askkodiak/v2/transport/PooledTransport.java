@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import feign.Client;
+
+import java.io.Closeable;
+import java.util.Optional;
+
+/**
+ * A pooled HTTP transport which can be supplied to
+ * {@link com.trustedchoice.askkodiak.v2.client.AskKodiakClient.Builder#transport(PooledTransport)}.
+ * <p>
+ * A transport owns its connection pool, a single instance may be shared by any number of clients (for example one
+ * client per agency API key) so that all of them reuse the same warm connections. Closing the transport closes the
+ * pool, clients using it must not be used afterwards.
+ */
+public interface PooledTransport extends Closeable {
+
+    /**
+     * @return The Feign client executing requests through this transport's pool.
+     */
+    Client client();
+
+    /**
+     * @return A snapshot of the connection pool, or empty when the underlying client does not expose its pool.
+     */
+    Optional<PoolStats> poolStats();
+
+    @Override
+    void close();
+}
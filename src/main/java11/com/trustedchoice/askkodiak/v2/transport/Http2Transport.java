@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link PooledTransport} backed by the {@code java.net.http.HttpClient} introduced in Java 11, negotiating HTTP/2 so
+ * that concurrent requests are multiplexed over a single connection.
+ * <p>
+ * The JDK client manages its own connections and does not expose them, {@link #poolStats()} is always empty and
+ * {@link PoolSettings} do not apply. Per request read timeouts are honored, connect timeouts are fixed when the
+ * transport is constructed.
+ */
+public class Http2Transport implements PooledTransport {
+
+    /**
+     * Headers the JDK client sets itself and refuses to accept from callers.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(List.of("Connection", "Content-Length", "Expect", "Host", "Upgrade"));
+    }
+
+    /**
+     * @return Whether HTTP/2 is supported by the running JVM.
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    private final HttpClient httpClient;
+
+    private final Client client = this::execute;
+
+    public Http2Transport() {
+        this(Duration.ofSeconds(10), null);
+    }
+
+    /**
+     * @param connectTimeout Connect timeout, applied to every connection as java.net.http does not support per request
+     *                       connect timeouts.
+     * @param executor       Executor for asynchronous tasks of the underlying client, or {@code null} for the JDK's
+     *                       default.
+     */
+    public Http2Transport(Duration connectTimeout, Executor executor) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(connectTimeout);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        this.httpClient = builder.build();
+    }
+
+    @Override
+    public Client client() {
+        return client;
+    }
+
+    @Override
+    public Optional<PoolStats> poolStats() {
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+        // connections are released once the client is unreachable
+    }
+
+    private Response execute(Request request, Request.Options options) throws IOException {
+        HttpRequest.BodyPublisher body = request.body() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(request.body());
+        HttpRequest.Builder httpRequest = HttpRequest.newBuilder(URI.create(request.url()))
+                .method(request.httpMethod().name(), body)
+                .timeout(Duration.ofMillis(options.readTimeoutUnit().toMillis(options.readTimeout())));
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            if (RESTRICTED_HEADERS.contains(header.getKey())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                httpRequest.header(header.getKey(), value);
+            }
+        }
+
+        HttpResponse<InputStream> httpResponse;
+        try {
+            httpResponse = httpClient.send(httpRequest.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(httpResponse.headers().map());
+        OptionalLong length = httpResponse.headers().firstValueAsLong("Content-Length");
+        return Response.builder()
+                .status(httpResponse.statusCode())
+                .reason("")
+                .headers(headers)
+                .request(request)
+                .body(httpResponse.body(), length.isPresent() && length.getAsLong() <= Integer.MAX_VALUE
+                        ? (int) length.getAsLong() : null)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiak;
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NegativeCacheTest {
+
+    private static final String PRODUCT = "GET /v2/product/{id}";
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Method method;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        method = AskKodiak.class.getMethod("getProduct", String.class);
+    }
+
+    @Test
+    void answersKnownMissingCallsLocally() {
+        NegativeCache cache = new NegativeCache(NegativeCacheConfig.defaults());
+
+        AskKodiakException original = assertThrows(AskKodiakException.class, () -> get(cache, "p1", 404));
+        CachedNotFoundException cached = assertThrows(CachedNotFoundException.class, () -> get(cache, "p1", 404));
+
+        assertEquals(1, calls.get());
+        assertEquals(404, cached.getStatus());
+        assertEquals(original.getMessage(), cached.getMessage());
+        assertEquals(0, cached.getStackTrace().length);
+        NegativeCache.EndpointStats stats = cache.snapshot().get(PRODUCT);
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getStored());
+    }
+
+    @Test
+    void remembersOnlyNotFoundAnswersOfTheSameCall() throws Throwable {
+        NegativeCache cache = new NegativeCache(NegativeCacheConfig.defaults());
+
+        assertThrows(AskKodiakException.class, () -> get(cache, "p1", 503));
+        assertThrows(AskKodiakException.class, () -> get(cache, "p1", 503));
+        assertThrows(AskKodiakException.class, () -> get(cache, "p1", 404));
+        assertEquals("p2", get(cache, "p2", 200));
+
+        assertEquals(4, calls.get());
+        assertEquals(1, cache.estimatedSize());
+    }
+
+    @Test
+    void callsOtherEndpointsThrough() throws Exception {
+        NegativeCache cache = new NegativeCache(NegativeCacheConfig.defaults());
+        Method codes = AskKodiak.class.getMethod("getCodes");
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(AskKodiakException.class, () -> cache.apply("GET /v2/naics/codes", codes, null, () -> {
+                calls.incrementAndGet();
+                throw new AskKodiakException(404, "Not Found");
+            }));
+        }
+
+        assertEquals(2, calls.get());
+        assertFalse(cache.snapshot().containsKey("GET /v2/naics/codes"));
+    }
+
+    @Test
+    void forgetsAnswersAfterTheirTimeToLive() {
+        FakeTicker ticker = new FakeTicker();
+        NegativeCache cache = new NegativeCache(NegativeCacheConfig.builder().ttl(Duration.ofSeconds(30)).build(),
+                ticker);
+
+        assertThrows(AskKodiakException.class, () -> get(cache, "p1", 404));
+        ticker.advance(Duration.ofSeconds(29));
+        assertThrows(CachedNotFoundException.class, () -> get(cache, "p1", 404));
+        ticker.advance(Duration.ofSeconds(1));
+        assertThrows(AskKodiakException.class, () -> get(cache, "p1", 404));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void forgetsInvalidatedAnswers() {
+        NegativeCache cache = new NegativeCache(NegativeCacheConfig.defaults());
+        assertThrows(AskKodiakException.class, () -> get(cache, "p1", 404));
+
+        cache.invalidate(PRODUCT);
+        assertThrows(AskKodiakException.class, () -> get(cache, "p1", 404));
+        cache.invalidateAll();
+        assertThrows(AskKodiakException.class, () -> get(cache, "p1", 404));
+
+        assertEquals(3, calls.get());
+    }
+
+    /**
+     * @param status Status the API answers with, the id on 200
+     */
+    private Object get(NegativeCache cache, String id, int status) throws Throwable {
+        return cache.apply(PRODUCT, method, new Object[]{id}, () -> {
+            calls.incrementAndGet();
+            if (status != 200) {
+                throw new AskKodiakException(status, "Product " + id + " answered " + status);
+            }
+            return id;
+        });
+    }
+}
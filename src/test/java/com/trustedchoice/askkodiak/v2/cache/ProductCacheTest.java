@@ -0,0 +1,286 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiak;
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+import com.trustedchoice.askkodiak.v2.codec.CodecContext;
+import com.trustedchoice.askkodiak.v2.model.product.Product;
+import com.trustedchoice.askkodiak.v2.model.product.Products;
+import com.trustedchoice.askkodiak.v2.resilience.CallPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductCacheTest {
+
+    private final ProductCache cache = new ProductCache(ProductCacheConfig.defaults(), Runnable::run);
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final FakeTicker ticker = new FakeTicker();
+
+    /**
+     * Work the caches under test hand to their executor, run when the test says so.
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void servesCachedProductsUntilANewerVersionIsSeen() throws Throwable {
+        Product first = get(product("p1", 1000));
+        assertSame(first, get(product("p1", 1000)));
+
+        cache.observe(listing("p1", 1000));
+        assertSame(first, get(product("p1", 2000)));
+        assertEquals(1, calls.get());
+
+        cache.observe(listing("p1", 2000));
+        Product second = get(product("p1", 2000));
+        assertEquals(2, calls.get());
+        assertSame(second, get(product("p1", 2000)));
+
+        ProductCache.ProductCacheStats stats = cache.snapshot();
+        assertEquals(3, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1, stats.getOutdated());
+    }
+
+    @Test
+    void keepsProductsWithoutMetadata() throws Throwable {
+        cache.observe(listing("p1", 2000));
+
+        Product product = get(json("{\"id\":\"p1\",\"name\":\"Commercial Auto\"}"));
+
+        assertSame(product, get(json("{\"id\":\"p1\"}")));
+        assertSame(product, get(json("{\"id\":\"p1\"}")));
+        assertEquals(1, calls.get());
+        assertEquals(0, cache.snapshot().getOutdated());
+    }
+
+    @Test
+    void ignoresOlderVersionsOfListings() throws Throwable {
+        Product product = get(product("p1", 2000));
+
+        cache.observe(listing("p1", 1000));
+
+        assertSame(product, get(product("p1", 2000)));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void invalidatesProducts() throws Throwable {
+        get(product("p1", 1000));
+
+        cache.invalidate("p1");
+        get(product("p1", 1000));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Throwable {
+        Product product = product("p1", 1000);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            Future<Product> first = threads.submit(() -> get(() -> {
+                loading.countDown();
+                release.await();
+                return product;
+            }));
+            loading.await();
+            List<Future<Product>> others = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                others.add(threads.submit(() -> get(product("p1", 2000))));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            assertSame(product, first.get(5, TimeUnit.SECONDS));
+            for (Future<Product> other : others) {
+                assertSame(product, other.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    void doesNotCacheFailures() throws Throwable {
+        assertThrows(AskKodiakException.class, () -> get(() -> {
+            throw new AskKodiakException(503, "Unavailable");
+        }));
+
+        Product product = get(product("p1", 1000));
+
+        assertSame(product, get(product("p1", 1000)));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void servesOutdatedProductsWhileRefreshingThem() throws Throwable {
+        ProductCache cache = staleCache(Duration.ofMinutes(10), Duration.ZERO);
+        Product first = get(cache, () -> product("p1", 1000));
+
+        cache.observe(listing("p1", 2000));
+        Product second = product("p1", 2000);
+        assertSame(first, get(cache, () -> second));
+        assertSame(first, get(cache, () -> second));
+        assertEquals(1, calls.get());
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        assertSame(second, get(cache, () -> product("p1", 3000)));
+        assertEquals(2, calls.get());
+        ProductCache.ProductCacheStats stats = cache.snapshot();
+        assertEquals(2, stats.getOutdated());
+        assertEquals(2, stats.getStale());
+        assertEquals(1, stats.getHits());
+    }
+
+    @Test
+    void servesOutdatedProductsOnErrors() throws Throwable {
+        ProductCache cache = staleCache(Duration.ZERO, Duration.ofMinutes(10));
+        Product first = get(cache, () -> product("p1", 1000));
+        cache.observe(listing("p1", 2000));
+
+        assertSame(first, get(cache, () -> {
+            throw new AskKodiakException(503, "Unavailable");
+        }));
+        assertThrows(AskKodiakException.class, () -> get(cache, () -> {
+            throw new AskKodiakException(404, "Not Found");
+        }));
+
+        assertEquals(0, cache.estimatedSize());
+        assertEquals(3, calls.get());
+        assertEquals(1, cache.snapshot().getStaleIfError());
+    }
+
+    @Test
+    void dropsStaleProductsWhichARefreshFindsGone() throws Throwable {
+        ProductCache cache = staleCache(Duration.ofMinutes(10), Duration.ZERO);
+        Product first = get(cache, () -> product("p1", 1000));
+        ticker.advance(Duration.ofHours(1));
+
+        assertSame(first, get(cache, () -> {
+            throw new AskKodiakException(404, "Not Found");
+        }));
+        runTasks();
+
+        assertEquals(0, cache.estimatedSize());
+        Product second = get(cache, () -> product("p1", 1000));
+        assertEquals(3, calls.get());
+        assertSame(second, get(cache, () -> product("p1", 1000)));
+        ProductCache.ProductCacheStats stats = cache.snapshot();
+        assertEquals(1, stats.getRefreshRemovals());
+        assertEquals(0, stats.getRefreshFailures());
+    }
+
+    @Test
+    void expiresProductsPastTheirRetention() throws Throwable {
+        ProductCache cache = staleCache(Duration.ofMinutes(10), Duration.ZERO);
+        get(cache, () -> product("p1", 1000));
+
+        ticker.advance(Duration.ofMinutes(70));
+        Product second = get(cache, () -> product("p1", 1000));
+
+        assertEquals(2, calls.get());
+        assertEquals(0, tasks.size());
+        assertSame(second, get(cache, () -> product("p1", 1000)));
+    }
+
+    private ProductCache staleCache(Duration staleWhileRevalidate, Duration staleIfError) {
+        ProductCacheConfig config = ProductCacheConfig.builder()
+                .staleWhileRevalidate(staleWhileRevalidate)
+                .staleIfError(staleIfError)
+                .build();
+        return new ProductCache(config, tasks::add, ticker);
+    }
+
+    private void runTasks() {
+        for (Runnable task; (task = tasks.poll()) != null; ) {
+            task.run();
+        }
+    }
+
+    /**
+     * @param loaded Product returned if the call is made
+     * @return Product served by the cache
+     */
+    private Product get(Product loaded) throws Exception {
+        return get(() -> loaded);
+    }
+
+    private Product get(CallPolicy.Call call) throws Exception {
+        return get(cache, call);
+    }
+
+    private Product get(ProductCache cache, CallPolicy.Call call) throws Exception {
+        Method method = AskKodiak.class.getMethod("getProduct", String.class);
+        try {
+            return (Product) cache.apply(ProductCache.PRODUCT, method, new Object[]{"p1"}, () -> {
+                calls.incrementAndGet();
+                return call.proceed();
+            });
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Product product(String id, long updated) throws IOException {
+        return json("{\"id\":\"" + id + "\",\"meta\":{\"lastUpdated\":{\"by\":\"user\",\"on\":" + updated / 1000
+                + "}}}");
+    }
+
+    private static Products listing(String id, long updated) throws IOException {
+        return CodecContext.shared().getObjectMapper().readValue("{\"products\":[{\"id\":\"" + id
+                + "\",\"meta\":{\"lastUpdated\":{\"on\":" + updated / 1000 + "}}}]}", Products.class);
+    }
+
+    private static Product json(String json) throws IOException {
+        return CodecContext.shared().getObjectMapper().readValue(json, Product.class);
+    }
+}
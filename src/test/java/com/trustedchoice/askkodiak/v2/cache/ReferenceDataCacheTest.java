@@ -0,0 +1,365 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiak;
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+import com.trustedchoice.askkodiak.v2.model.naics.NaicsCode;
+import com.trustedchoice.askkodiak.v2.resilience.CallPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReferenceDataCacheTest {
+
+    private static final String CODES = "GET /v2/naics/codes";
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final FakeTicker ticker = new FakeTicker();
+
+    /**
+     * Work the caches under test hand to their executor, run when the test says so.
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private Method method;
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        method = AskKodiak.class.getMethod("getCodes");
+        directory = Files.createTempDirectory("reference-data");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    void servesResultsUntilInvalidated() throws Throwable {
+        ReferenceDataCache cache = new ReferenceDataCache(ReferenceDataCacheConfig.defaults(), Runnable::run);
+        Map<String, NaicsCode> codes = codes("Soybean Farming");
+
+        assertSame(codes, get(cache, () -> codes));
+        assertSame(codes, get(cache, () -> codes("Wheat Farming")));
+        cache.invalidate(CODES);
+        assertEquals("Wheat Farming", description(get(cache, () -> codes("Wheat Farming"))));
+
+        ReferenceDataCache.EndpointStats stats = cache.snapshot().get(CODES);
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void callsOtherEndpointsThrough() throws Throwable {
+        ReferenceDataCache cache = new ReferenceDataCache(ReferenceDataCacheConfig.defaults(), Runnable::run);
+        Method product = AskKodiak.class.getMethod("getProduct", String.class);
+        CallPolicy.Call call = () -> calls.incrementAndGet();
+
+        cache.apply(ProductCache.PRODUCT, product, new Object[]{"p1"}, call);
+        cache.apply(ProductCache.PRODUCT, product, new Object[]{"p1"}, call);
+
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void doesNotCacheFailures() throws Throwable {
+        ReferenceDataCache cache = new ReferenceDataCache(ReferenceDataCacheConfig.defaults(), Runnable::run);
+
+        assertThrows(AskKodiakException.class, () -> get(cache, () -> {
+            throw new AskKodiakException(503, "Unavailable");
+        }));
+
+        assertEquals("Soybean Farming", description(get(cache, () -> codes("Soybean Farming"))));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Throwable {
+        ReferenceDataCache cache = new ReferenceDataCache(ReferenceDataCacheConfig.defaults(), Runnable::run);
+        Map<String, NaicsCode> codes = codes("Soybean Farming");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            Future<Object> first = threads.submit(() -> get(cache, () -> {
+                loading.countDown();
+                release.await();
+                return codes;
+            }));
+            loading.await();
+            Future<?>[] others = new Future<?>[3];
+            for (int i = 0; i < others.length; i++) {
+                others[i] = threads.submit(() -> get(cache, () -> codes("Wheat Farming")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            assertSame(codes, first.get(5, TimeUnit.SECONDS));
+            for (Future<?> other : others) {
+                assertSame(codes, other.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    void refreshesRestoredResultsWithADirectExecutor() throws Throwable {
+        ReferenceDataCacheConfig config = ReferenceDataCacheConfig.builder().directory(directory).build();
+        get(new ReferenceDataCache(config, Runnable::run), () -> codes("Soybean Farming"));
+
+        // a restarted process reads the persisted result and refreshes it at once, the executor running it inline
+        ReferenceDataCache cache = new ReferenceDataCache(config, Runnable::run);
+        assertEquals("Soybean Farming", description(get(cache, () -> codes("Wheat Farming"))));
+
+        assertEquals("Wheat Farming", description(get(cache, () -> codes("Corn Farming"))));
+        ReferenceDataCache.EndpointStats stats = cache.snapshot().get(CODES);
+        assertEquals(1, stats.getRestored());
+        assertEquals(0, stats.getRefreshFailures());
+        assertEquals(0, stats.getStoreErrors());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void servesStaleResultsWhileRefreshingThem() throws Throwable {
+        ReferenceDataCache cache = staleCache(Duration.ofMinutes(10), Duration.ZERO);
+        get(cache, () -> codes("Soybean Farming"));
+
+        ticker.advance(Duration.ofHours(12));
+        assertEquals("Soybean Farming", description(get(cache, () -> codes("Wheat Farming"))));
+        assertEquals(1, calls.get());
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        assertEquals("Wheat Farming", description(get(cache, () -> codes("Corn Farming"))));
+        assertEquals(2, calls.get());
+        ReferenceDataCache.EndpointStats stats = cache.snapshot().get(CODES);
+        assertEquals(1, stats.getStale());
+        assertEquals(1, stats.getHits());
+    }
+
+    @Test
+    void concurrentStaleReadsRefreshOnce() throws Throwable {
+        ReferenceDataCache cache = staleCache(Duration.ofMinutes(10), Duration.ZERO);
+        get(cache, () -> codes("Soybean Farming"));
+        ticker.advance(Duration.ofHours(12));
+
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> reads = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                reads.add(threads.submit(() -> get(cache, () -> codes("Wheat Farming"))));
+            }
+            for (Future<Object> read : reads) {
+                assertEquals("Soybean Farming", description(read.get(5, TimeUnit.SECONDS)));
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals(2, calls.get());
+        assertEquals(16, cache.snapshot().get(CODES).getStale());
+    }
+
+    @Test
+    void keepsStaleResultsWhenRefreshingThemFails() throws Throwable {
+        ReferenceDataCache cache = staleCache(Duration.ofMinutes(10), Duration.ZERO);
+        get(cache, () -> codes("Soybean Farming"));
+        ticker.advance(Duration.ofHours(12));
+
+        get(cache, () -> {
+            throw new AskKodiakException(503, "Unavailable");
+        });
+        runTasks();
+        assertEquals("Soybean Farming", description(get(cache, () -> codes("Wheat Farming"))));
+        runTasks();
+
+        assertEquals("Wheat Farming", description(get(cache, () -> codes("Corn Farming"))));
+        assertEquals(3, calls.get());
+        assertEquals(1, cache.snapshot().get(CODES).getRefreshFailures());
+    }
+
+    @Test
+    void dropsStaleResultsWhichARefreshFindsGone() throws Throwable {
+        ReferenceDataCacheConfig config = ReferenceDataCacheConfig.builder()
+                .staleWhileRevalidate(Duration.ofMinutes(10))
+                .directory(directory)
+                .build();
+        ReferenceDataCache cache = new ReferenceDataCache(config, tasks::add, ticker);
+        get(cache, () -> codes("Soybean Farming"));
+        runTasks();
+        ticker.advance(Duration.ofHours(12));
+
+        assertEquals("Soybean Farming", description(get(cache, () -> {
+            throw new AskKodiakException(404, "Not Found");
+        })));
+        runTasks();
+
+        assertEquals("Wheat Farming", description(get(cache, () -> codes("Wheat Farming"))));
+        assertEquals(3, calls.get());
+        ReferenceDataCache.EndpointStats stats = cache.snapshot().get(CODES);
+        assertEquals(1, stats.getRefreshRemovals());
+        assertEquals(0, stats.getRefreshFailures());
+        assertEquals(2, stats.getMisses());
+        // the persisted result was deleted too, the result loaded after it is not yet written
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void servesStaleResultsOnServerAndNetworkErrors() throws Throwable {
+        ReferenceDataCache cache = staleCache(Duration.ZERO, Duration.ofHours(1));
+        get(cache, () -> codes("Soybean Farming"));
+        ticker.advance(Duration.ofHours(12));
+
+        assertEquals("Soybean Farming", description(get(cache, () -> {
+            throw new AskKodiakException(503, "Unavailable");
+        })));
+        assertEquals("Soybean Farming", description(get(cache, () -> {
+            throw new IOException("Connection reset");
+        })));
+        assertEquals("Wheat Farming", description(get(cache, () -> codes("Wheat Farming"))));
+
+        assertEquals(4, calls.get());
+        assertEquals(0, tasks.size());
+        ReferenceDataCache.EndpointStats stats = cache.snapshot().get(CODES);
+        assertEquals(2, stats.getStaleIfError());
+        assertEquals(4, stats.getMisses());
+    }
+
+    @Test
+    void rethrowsNotFoundAndDropsStaleResults() throws Throwable {
+        ReferenceDataCache cache = staleCache(Duration.ZERO, Duration.ofHours(1));
+        get(cache, () -> codes("Soybean Farming"));
+        ticker.advance(Duration.ofHours(12));
+
+        AskKodiakException e = assertThrows(AskKodiakException.class, () -> get(cache, () -> {
+            throw new AskKodiakException(404, "Not Found");
+        }));
+        assertEquals(404, e.getStatus());
+        assertEquals(0, cache.estimatedSize());
+
+        assertThrows(AskKodiakException.class, () -> get(cache, () -> {
+            throw new AskKodiakException(503, "Unavailable");
+        }));
+        assertEquals(3, calls.get());
+        assertEquals(0, cache.snapshot().get(CODES).getStaleIfError());
+    }
+
+    @Test
+    void expiresResultsPastTheirRetention() throws Throwable {
+        ReferenceDataCache cache = staleCache(Duration.ofMinutes(10), Duration.ofHours(1));
+        get(cache, () -> codes("Soybean Farming"));
+
+        ticker.advance(Duration.ofHours(13).minusNanos(1));
+        assertEquals("Soybean Farming", description(get(cache, () -> {
+            throw new AskKodiakException(503, "Unavailable");
+        })));
+        ticker.advance(Duration.ofNanos(1));
+        assertThrows(AskKodiakException.class, () -> get(cache, () -> {
+            throw new AskKodiakException(503, "Unavailable");
+        }));
+
+        assertEquals("Wheat Farming", description(get(cache, () -> codes("Wheat Farming"))));
+        assertEquals(4, calls.get());
+        assertEquals(0, tasks.size());
+    }
+
+    private ReferenceDataCache staleCache(Duration staleWhileRevalidate, Duration staleIfError) {
+        ReferenceDataCacheConfig config = ReferenceDataCacheConfig.builder()
+                .staleWhileRevalidate(staleWhileRevalidate)
+                .staleIfError(staleIfError)
+                .build();
+        return new ReferenceDataCache(config, tasks::add, ticker);
+    }
+
+    private void runTasks() {
+        for (Runnable task; (task = tasks.poll()) != null; ) {
+            task.run();
+        }
+    }
+
+    private Object get(ReferenceDataCache cache, CallPolicy.Call call) throws Exception {
+        try {
+            return cache.apply(CODES, method, null, () -> {
+                calls.incrementAndGet();
+                return call.proceed();
+            });
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, NaicsCode> codes(String description) {
+        NaicsCode code = new NaicsCode();
+        code.setCode("111110");
+        code.setDescription(description);
+        return Collections.singletonMap("111110", code);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String description(Object codes) {
+        return ((Map<String, NaicsCode>) codes).get("111110").getDescription();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.trustedchoice.askkodiak.v2.codec.CodecContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ReferenceDataStoreTest {
+
+    private static final Type CODES = new TypeReference<Map<String, String>>() {
+    }.getType();
+
+    private static final CallKey GEOS = new CallKey("GET /v2/ref-data/geos", Collections.emptyList());
+
+    private final Map<String, String> codes = new TreeMap<>();
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("reference-data");
+        codes.put("US-NY", "New York");
+        codes.put("US-CA", "California");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    void readsWhatWasWritten() throws IOException {
+        ReferenceDataStore store = store(Duration.ofHours(1));
+        assertNull(store.read(GEOS, CODES));
+
+        store.write(GEOS, codes);
+
+        assertEquals(codes, store.read(GEOS, CODES));
+        assertNull(store.read(new CallKey("GET /v2/ref-data/geos", Collections.singletonList("US")), CODES));
+    }
+
+    @Test
+    void ignoresFilesOlderThanTheMaximumAge() throws Exception {
+        ReferenceDataStore store = store(Duration.ofMillis(1));
+        store.write(GEOS, codes);
+        Thread.sleep(10);
+
+        assertNull(store.read(GEOS, CODES));
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        ReferenceDataStore store = store(Duration.ofHours(1));
+        store.write(GEOS, codes);
+        Path file = file();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+
+        assertThrows(IOException.class, () -> store.read(GEOS, CODES));
+        assertFalse(isMapped(file));
+    }
+
+    @Test
+    void unmapsFilesOnceRead() throws IOException {
+        ReferenceDataStore store = store(Duration.ofHours(1));
+        store.write(GEOS, codes);
+        Path file = file();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(codes, store.read(GEOS, CODES));
+        }
+
+        assertFalse(isMapped(file));
+    }
+
+    private ReferenceDataStore store(Duration maxAge) {
+        return new ReferenceDataStore(directory, maxAge, CodecContext.shared());
+    }
+
+    private Path file() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.akrd")) {
+            return files.iterator().next();
+        }
+    }
+
+    /**
+     * @return Whether the process maps the file, on Linux
+     */
+    private static boolean isMapped(Path file) throws IOException {
+        Path maps = Paths.get("/proc/self/maps");
+        assumeTrue(Files.isReadable(maps), "mappings are only listed on Linux");
+        String path = file.toRealPath().toString();
+        return new String(Files.readAllBytes(maps), StandardCharsets.UTF_8).contains(path);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StalePolicyTest {
+
+    private static final long TTL = Duration.ofMinutes(60).toNanos();
+
+    private final Cached cached = new Cached("result", 0);
+
+    @Test
+    void servesResultsStaleWhileRevalidatingThenIfError() {
+        StalePolicy stale = new StalePolicy(Duration.ofMinutes(10), Duration.ofMinutes(30));
+
+        assertEquals(StalePolicy.Freshness.FRESH, stale.freshness(cached, TTL, minutes(60) - 1));
+        assertEquals(StalePolicy.Freshness.REVALIDATE, stale.freshness(cached, TTL, minutes(60)));
+        assertEquals(StalePolicy.Freshness.REVALIDATE, stale.freshness(cached, TTL, minutes(70) - 1));
+        assertEquals(StalePolicy.Freshness.IF_ERROR, stale.freshness(cached, TTL, minutes(70)));
+        assertEquals(StalePolicy.Freshness.IF_ERROR, stale.freshness(cached, TTL, minutes(90) - 1));
+        assertEquals(StalePolicy.Freshness.EXPIRED, stale.freshness(cached, TTL, minutes(90)));
+        assertEquals(minutes(90), stale.retention(TTL));
+    }
+
+    @Test
+    void expiresResultsAtTheirTimeToLiveByDefault() {
+        StalePolicy stale = new StalePolicy(Duration.ZERO, Duration.ZERO);
+
+        assertEquals(StalePolicy.Freshness.FRESH, stale.freshness(cached, TTL, minutes(60) - 1));
+        assertEquals(StalePolicy.Freshness.EXPIRED, stale.freshness(cached, TTL, minutes(60)));
+        assertEquals(StalePolicy.Freshness.EXPIRED, stale.outdated());
+        assertEquals(TTL, stale.retention(TTL));
+    }
+
+    @Test
+    void servesOutdatedResultsAsConfigured() {
+        assertEquals(StalePolicy.Freshness.REVALIDATE,
+                new StalePolicy(Duration.ofMinutes(1), Duration.ofMinutes(1)).outdated());
+        assertEquals(StalePolicy.Freshness.IF_ERROR, new StalePolicy(Duration.ZERO, Duration.ofMinutes(1)).outdated());
+    }
+
+    @Test
+    void retainsResultsAtMostForever() {
+        StalePolicy stale = new StalePolicy(Duration.ofSeconds(Long.MAX_VALUE / 1_000_000_000), Duration.ZERO);
+
+        assertEquals(Long.MAX_VALUE, stale.retention(TTL));
+    }
+
+    @Test
+    void rejectsNegativeDurations() {
+        assertThrows(IllegalArgumentException.class, () -> new StalePolicy(Duration.ofSeconds(-1), Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new StalePolicy(Duration.ZERO, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void servesStaleOnlyOnFailuresOfTheApiOrNetwork() {
+        assertTrue(StalePolicy.servesStale(new AskKodiakException(500, "Internal Server Error")));
+        assertTrue(StalePolicy.servesStale(new AskKodiakException(503, "Unavailable")));
+        assertTrue(StalePolicy.servesStale(new AskKodiakException(429, "Too Many Requests")));
+        assertTrue(StalePolicy.servesStale(new IOException("Connection reset")));
+        assertFalse(StalePolicy.servesStale(new AskKodiakException(404, "Not Found")));
+        assertFalse(StalePolicy.servesStale(new AskKodiakException(400, "Bad Request")));
+        assertFalse(StalePolicy.servesStale(new OutOfMemoryError()));
+    }
+
+    @Test
+    void letsASingleCallReloadAResult() {
+        Cached result = new Cached("result", 0);
+
+        assertTrue(result.startReload());
+        assertFalse(result.startReload());
+        result.reloadFailed();
+        assertTrue(result.startReload());
+    }
+
+    private static long minutes(long minutes) {
+        return Duration.ofMinutes(minutes).toNanos();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.cache;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiak;
+import com.trustedchoice.askkodiak.v2.codec.CodecContext;
+import com.trustedchoice.askkodiak.v2.model.suggest.NaicsCodeSuggestion;
+import com.trustedchoice.askkodiak.v2.model.suggest.NaicsCodeSuggestions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SuggestCacheTest {
+
+    private static final String NAICS_CODES = "GET /v2/suggest/naics-codes/{term}";
+
+    private static final String HITS = "["
+            + "{\"code\":\"238220\",\"hash\":\"h1\",\"description\":\"Plumbing, Heating, and Air-Conditioning\"},"
+            + "{\"code\":\"315990\",\"hash\":\"h2\",\"description\":\"Apparel Accessories\","
+            + "\"path\":[\"Manufacturing\",\"Plus Sizes\"]},"
+            + "{\"code\":\"423720\",\"hash\":\"plumbing\",\"objectID\":\"plumbing\",\"sectorCode\":\"plumbing\","
+            + "\"description\":\"Hardware Merchant Wholesalers\"},"
+            + "{\"code\":\"plumb\",\"hash\":\"h4\",\"description\":\"Code only\"}"
+            + "]";
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Method method;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        method = AskKodiak.class.getMethod("getSuggestedNaicsCodes", String.class);
+    }
+
+    @Test
+    void servesTheSameTermFromTheCache() throws Throwable {
+        SuggestCache cache = new SuggestCache(SuggestCacheConfig.defaults());
+        NaicsCodeSuggestions response = response(HITS, true, 4);
+
+        assertSame(response, get(cache, "Plu", response));
+        assertSame(response, get(cache, "  plu ", response("[]", true, 0)));
+
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.snapshot().get(NAICS_CODES).getHits());
+    }
+
+    @Test
+    void derivesLongerTermsFromSearchedTextOnly() throws Throwable {
+        SuggestCache cache = new SuggestCache(SuggestCacheConfig.defaults());
+        get(cache, "plu", response(HITS, true, 4));
+
+        NaicsCodeSuggestions derived = get(cache, "Plumb", response("[]", true, 0));
+
+        assertEquals(1, calls.get());
+        assertEquals(Arrays.asList("238220", "plumb"), codes(derived));
+        assertEquals(2, derived.getNbHits().intValue());
+        assertEquals("Plumb", derived.getQuery());
+        assertEquals(1, cache.snapshot().get(NAICS_CODES).getDerived());
+    }
+
+    @Test
+    void matchesListAttributes() throws Throwable {
+        SuggestCache cache = new SuggestCache(SuggestCacheConfig.defaults());
+        get(cache, "plu", response(HITS, true, 4));
+
+        assertEquals(Arrays.asList("315990"), codes(get(cache, "plus", response("[]", true, 0))));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void callsTheApiUnlessTheShorterResponseIsComplete() throws Throwable {
+        SuggestCache cache = new SuggestCache(SuggestCacheConfig.defaults());
+        get(cache, "plu", response(HITS, false, 4));
+        get(cache, "pla", response(HITS, true, 40));
+
+        NaicsCodeSuggestions plumb = response("[{\"code\":\"238220\"}]", true, 1);
+        assertSame(plumb, get(cache, "plumb", plumb));
+        NaicsCodeSuggestions plan = response("[{\"code\":\"541320\"}]", true, 1);
+        assertSame(plan, get(cache, "plan", plan));
+
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void callsTheApiWhenNoHitRemains() throws Throwable {
+        SuggestCache cache = new SuggestCache(SuggestCacheConfig.defaults());
+        get(cache, "plu", response(HITS, true, 4));
+
+        // e.g. a typo the API tolerates
+        NaicsCodeSuggestions plunbing = response("[{\"code\":\"238220\"}]", true, 1);
+        assertSame(plunbing, get(cache, "plunbing", plunbing));
+
+        assertEquals(2, calls.get());
+    }
+
+    private NaicsCodeSuggestions get(SuggestCache cache, String term, NaicsCodeSuggestions response)
+            throws Throwable {
+        return (NaicsCodeSuggestions) cache.apply(NAICS_CODES, method, new Object[]{term}, () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+    }
+
+    private static NaicsCodeSuggestions response(String hits, boolean exhaustive, int nbHits) throws IOException {
+        return CodecContext.shared().getObjectMapper().readValue("{\"hits\":" + hits + ",\"nbHits\":" + nbHits
+                + ",\"page\":0,\"nbPages\":1,\"exhaustiveNbHits\":" + exhaustive + "}", NaicsCodeSuggestions.class);
+    }
+
+    private static List<String> codes(NaicsCodeSuggestions suggestions) {
+        return suggestions.getHits().stream()
+                .map(NaicsCodeSuggestion::getCode)
+                .collect(Collectors.toList());
+    }
+}
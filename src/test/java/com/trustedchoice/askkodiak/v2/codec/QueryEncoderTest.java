@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.codec;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiak;
+import com.trustedchoice.askkodiak.v2.client.AskKodiakClient;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class QueryEncoderTest {
+
+    private final QueryEncoder encoder = new QueryEncoder();
+
+    @Test
+    void keepsPlusDelimitedValues() {
+        AskKodiak.EligibleQuery query = AskKodiak.EligibleQuery.builder()
+                .geos("US-MN+CA-ON")
+                .productCodes("BOP+WORK")
+                .build();
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("geos", "US-MN+CA-ON");
+        expected.put("productCodes", "BOP+WORK");
+        assertEquals(expected, encoder.encode(query));
+    }
+
+    @Test
+    void sendsPlusDelimitedValuesAsIs() {
+        AtomicReference<String> url = new AtomicReference<>();
+        AskKodiak askKodiak = AskKodiakClient.builder("group", "key")
+                .endpoint("http://localhost")
+                .client((request, options) -> {
+                    url.set(request.url());
+                    return Response.builder()
+                            .status(200)
+                            .request(request)
+                            .headers(Collections.emptyMap())
+                            .body("{}", StandardCharsets.UTF_8)
+                            .build();
+                })
+                .build();
+
+        askKodiak.getProductsEligibleForCode("541110", AskKodiak.EligibleQuery.builder()
+                .geos("US-MN+CA-ON")
+                .tags("a b&c=d/é%")
+                .build());
+
+        assertEquals("http://localhost/v2/products/class-code/naics/541110"
+                + "?geos=US-MN+CA-ON&tags=a%20b%26c%3Dd%2F%C3%A9%25", url.get());
+    }
+
+    @Test
+    void percentEncodesReservedAndNonAsciiCharacters() {
+        assertEquals("a%20b%26c%3Dd%2F%C3%A9%25", QueryEncoder.encode("a b&c=d/é%"));
+        assertEquals("%3F%23%5B%5D%40%21%24%27%28%29%2A%2C%3B%3A", QueryEncoder.encode("?#[]@!$'()*,;:"));
+        assertEquals("%E2%82%AC%F0%9F%98%80", QueryEncoder.encode("€😀"));
+    }
+
+    @Test
+    void returnsValuesNeedingNoEncodingAsIs() {
+        String value = "US-MN+CA-ON_1.2~";
+
+        assertSame(value, QueryEncoder.encode(value));
+    }
+
+    @Test
+    void encodesEveryValueOfAList() {
+        Listed listed = new Listed();
+        listed.setValues(Arrays.asList("US-MN", null, "", "a b"));
+
+        assertEquals(Collections.singletonMap("values", Arrays.asList("US-MN", "a%20b")), encoder.encode(listed));
+    }
+
+    @Test
+    void omitsNullAndEmptyValues() {
+        AskKodiak.EligibleQuery query = AskKodiak.EligibleQuery.builder()
+                .owners("")
+                .companyType(null)
+                .summaryOnly(true)
+                .page(0)
+                .build();
+        Listed listed = new Listed();
+        listed.setValues(Collections.emptyList());
+        listed.setOptional(Optional.empty());
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("summaryOnly", "true");
+        expected.put("page", "0");
+        assertEquals(expected, encoder.encode(query));
+        assertEquals(Collections.emptyMap(), encoder.encode(listed));
+        assertEquals(Collections.emptyMap(), encoder.encode((Object) null));
+    }
+
+    @Test
+    void unwrapsOptionalValues() {
+        Listed listed = new Listed();
+        listed.setOptional(Optional.of("a/b"));
+
+        assertEquals(Collections.singletonMap("optional", "a%2Fb"), encoder.encode(listed));
+    }
+
+    @Test
+    void encodesClassesWithoutGettersThroughTheirFields() {
+        Fields fields = new Fields();
+        fields.geos = "US-MN+CA-ON";
+        fields.name = "a b";
+        fields.empty = "";
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("geos", "US-MN+CA-ON");
+        expected.put("name", "a%20b");
+        assertEquals(expected, encoder.encode(fields));
+    }
+
+    public static class Listed {
+
+        private List<String> values;
+
+        private Optional<String> optional;
+
+        public List<String> getValues() {
+            return values;
+        }
+
+        public void setValues(List<String> values) {
+            this.values = values;
+        }
+
+        public Optional<String> getOptional() {
+            return optional;
+        }
+
+        public void setOptional(Optional<String> optional) {
+            this.optional = optional;
+        }
+    }
+
+    /**
+     * Not a Lombok class, no getters.
+     */
+    static class Fields {
+
+        String geos;
+
+        String name;
+
+        String empty;
+
+        String none;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.codec;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.trustedchoice.askkodiak.v2.model.product.Product;
+import com.trustedchoice.askkodiak.v2.model.product.Products;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingDeserializersTest {
+
+    private final ObjectMapper generated = CodecContext.defaultObjectMapper();
+
+    private final ObjectMapper reflective = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(MapperFeature.USE_GETTERS_AS_SETTERS, false);
+
+    // the models' getters return Optional, compare what their fields hold
+    private final ObjectMapper fields = new ObjectMapper()
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+    private int values;
+
+    @Test
+    void defaultMapperUsesGeneratedDeserializers() throws Exception {
+        assertTrue(generated.getRegisteredModuleIds().contains(StreamingDeserializers.GENERATED));
+        assertTrue(types().contains(Products.class));
+        assertTrue(types().contains(Product.class));
+
+        DefaultDeserializationContext ctxt = ((DefaultDeserializationContext) generated.getDeserializationContext())
+                .createInstance(generated.getDeserializationConfig(), null, null);
+        assertTrue(ctxt.findRootValueDeserializer(generated.constructType(Products.class))
+                instanceof StreamingDeserializer);
+    }
+
+    @Test
+    void decodesEveryModelAsJackson() throws Exception {
+        for (Class<?> type : types()) {
+            assertDecodedAlike(type, sample(reflective.constructType(type), 0).toString());
+        }
+    }
+
+    @Test
+    void decodesUnusualInputAsJackson() throws Exception {
+        for (String json : Arrays.asList(
+                "{}",
+                "null",
+                "{\"name\":null,\"_score\":null,\"coverageType\":null,\"geos\":null,\"meta\":null,\"collateral\":null}",
+                "{\"name\":7,\"_score\":\"12\",\"admitted\":\"true\",\"minYearsInBusiness\":3.0}",
+                "{\"coverageType\":[\"a\",null,3],\"geos\":{\"US-NY\":true,\"US-CA\":null},\"collateral\":[null,{}]}",
+                "{\"unknown\":{\"deep\":[1,{\"x\":[]}]},\"name\":\"first\",\"name\":\"second\",\"also\":[]}",
+                "{\"_eligibilityForGroupFilters\":{\"44\":1,\"45\":0.25},\"meta\":{\"lastIndexed\":1600000000}}")) {
+            assertDecodedAlike(Product.class, json);
+        }
+        assertDecodedAlike(Products.class, "{\"products\":[{\"name\":\"a\"},null],\"count\":1}");
+    }
+
+    @Test
+    void propertiesMissedByTheGeneratedCodeAreSetByJackson() throws Exception {
+        ObjectMapper caseInsensitive = CodecContext.defaultObjectMapper()
+                .configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+
+        Product product = caseInsensitive.readValue("{\"NAME\":\"Commercial Auto\",\"_Score\":3}", Product.class);
+
+        assertEquals("Commercial Auto", product.getName().orElse(null));
+        assertEquals(3, product.getScore().orElse(null));
+    }
+
+    @Test
+    void otherDeserializersOfDirectlyReadTypesAreHonored() throws Exception {
+        ObjectMapper upperCase = CodecContext.defaultObjectMapper().registerModule(
+                new SimpleModule().addDeserializer(String.class, new JsonDeserializer<String>() {
+
+                    @Override
+                    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                        return p.getText().toUpperCase();
+                    }
+                }));
+
+        Product product = upperCase.readValue("{\"name\":\"Commercial Auto\",\"notes\":[\"a\"]}", Product.class);
+
+        assertEquals("COMMERCIAL AUTO", product.getName().orElse(null));
+        assertEquals(Arrays.asList("A"), product.getNotes().orElse(null));
+    }
+
+    private Set<Class<?>> types() throws Exception {
+        return ((StreamingDeserializers) Class.forName(StreamingDeserializers.GENERATED)
+                .getDeclaredConstructor().newInstance()).types();
+    }
+
+    private void assertDecodedAlike(Class<?> type, String json) throws IOException {
+        JsonNode expected = fields.valueToTree(reflective.readValue(json, type));
+        JsonNode actual = fields.valueToTree(generated.readValue(json, type));
+        assertEquals(expected, actual, () -> type.getName() + " from " + json);
+    }
+
+    /**
+     * @return JSON giving every property of a type a distinct value, nested models up to a few levels deep
+     */
+    private JsonNode sample(JavaType type, int depth) {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        Class<?> raw = type.getRawClass();
+        int value = ++values;
+        if (raw == String.class || raw == Object.class) {
+            return nodes.textNode("value-" + value);
+        } else if (raw == Integer.class || raw == Long.class || raw == java.sql.Timestamp.class) {
+            return nodes.numberNode(value);
+        } else if (raw == Float.class || raw == Double.class) {
+            return nodes.numberNode(value + 0.5);
+        } else if (raw == Boolean.class) {
+            return nodes.booleanNode(value % 2 == 0);
+        } else if (Collection.class.isAssignableFrom(raw) || raw == List.class) {
+            return nodes.arrayNode()
+                    .add(sample(type.getContentType(), depth))
+                    .add(sample(type.getContentType(), depth));
+        } else if (Map.class.isAssignableFrom(raw)) {
+            return nodes.objectNode()
+                    .set("key-" + value, sample(type.getContentType(), depth));
+        }
+        ObjectNode object = nodes.objectNode();
+        if (depth < 3) {
+            for (BeanPropertyDefinition property
+                    : reflective.getDeserializationConfig().introspect(type).findProperties()) {
+                if (property.hasSetter() || property.hasField()) {
+                    object.set(property.getName(), sample(property.getPrimaryType(), depth + 1));
+                }
+            }
+        }
+        return object;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagedPublisherTest {
+
+    private static final int PAGES = 3;
+
+    /**
+     * Page {@code n} holds items {@code 2n} and {@code 2n + 1}.
+     */
+    private static final IntFunction<List<Integer>> PAGE = page -> Arrays.asList(2 * page, 2 * page + 1);
+
+    @Test
+    void emitsEveryPageThenCompletes() throws Exception {
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+
+        publisher(PAGE, Runnable::run).subscribe(recorder);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), recorder.done.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void completesAfterLastPageFetchedConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                Recorder recorder = new Recorder(0);
+                publisher(PAGE, executor).subscribe(recorder);
+
+                // drain on this thread while pages are fetched on the executor
+                while (!recorder.done.isDone()) {
+                    recorder.subscription.request(1);
+                }
+
+                assertEquals(2 * PAGES, recorder.done.get(5, TimeUnit.SECONDS).size(), "subscription " + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void fetchesOnlyPagesDemanded() {
+        AtomicInteger fetched = new AtomicInteger();
+        Recorder recorder = new Recorder(1);
+
+        publisher(page -> {
+            fetched.incrementAndGet();
+            return PAGE.apply(page);
+        }, Runnable::run).subscribe(recorder);
+
+        assertEquals(Arrays.asList(0), recorder.items);
+        assertEquals(1, fetched.get());
+
+        recorder.subscription.request(2);
+
+        assertEquals(Arrays.asList(0, 1, 2), recorder.items);
+        assertEquals(2, fetched.get());
+        assertFalse(recorder.done.isDone());
+    }
+
+    @Test
+    void signalsErrorWhenFetchIsRejected() {
+        Recorder recorder = new Recorder(0);
+        publisher(PAGE, task -> {
+            throw new RejectedExecutionException("shut down");
+        }).subscribe(recorder);
+
+        recorder.subscription.request(1);
+
+        assertTrue(recorder.done.isCompletedExceptionally());
+    }
+
+    @Test
+    void signalsErrorOfFetch() {
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+
+        publisher(page -> {
+            if (page == 1) {
+                throw new IllegalStateException("unavailable");
+            }
+            return PAGE.apply(page);
+        }, Runnable::run).subscribe(recorder);
+
+        assertEquals(Arrays.asList(0, 1), recorder.items);
+        assertTrue(recorder.done.isCompletedExceptionally());
+    }
+
+    private static PagedPublisher<List<Integer>, Integer> publisher(IntFunction<List<Integer>> fetch,
+                                                                    Executor executor) {
+        return new PagedPublisher<>(fetch, page -> page, page -> PAGES, 0, executor, 2);
+    }
+
+    private static class Recorder implements Subscriber<Integer> {
+
+        final List<Integer> items = new CopyOnWriteArrayList<>();
+
+        final CompletableFuture<List<Integer>> done = new CompletableFuture<>();
+
+        private final long initialDemand;
+
+        Subscription subscription;
+
+        Recorder(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            done.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(items);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveLimitTest {
+
+    private static final long RTT = Duration.ofMillis(100).toNanos();
+
+    @Test
+    void gradientDoesNotGrowIdleJitteryEndpoint() {
+        AdaptiveLimit limit = AdaptiveLimit.create(ConcurrencyLimitConfig.defaults());
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            limit.onSample(jittered(random), 1, false);
+        }
+
+        assertTrue(limit.limit() <= 20, "limit " + limit.limit());
+    }
+
+    @Test
+    void gradientGrowsSaturatedEndpointWithSteadyLatency() {
+        AdaptiveLimit limit = AdaptiveLimit.create(ConcurrencyLimitConfig.defaults());
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(jittered(random), limit.limit(), false);
+        }
+
+        assertTrue(limit.limit() > 20, "limit " + limit.limit());
+    }
+
+    @Test
+    void gradientShrinksWhenLatencyRises() {
+        AdaptiveLimit limit = AdaptiveLimit.create(ConcurrencyLimitConfig.defaults());
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, 1, false);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT * 4, 1, false);
+        }
+
+        assertTrue(limit.limit() < 20, "limit " + limit.limit());
+    }
+
+    @Test
+    void gradientBacksOffOnDrops() {
+        AdaptiveLimit limit = AdaptiveLimit.create(ConcurrencyLimitConfig.defaults());
+
+        limit.onSample(RTT, 20, true);
+
+        assertEquals(18, limit.limit());
+    }
+
+    @Test
+    void aimdGrowsOnlySaturatedEndpoint() {
+        AdaptiveLimit limit = AdaptiveLimit.create(ConcurrencyLimitConfig.builder()
+                .algorithm(ConcurrencyLimitConfig.Algorithm.AIMD)
+                .build());
+
+        limit.onSample(RTT, 1, false);
+        assertEquals(20, limit.limit());
+
+        limit.onSample(RTT, 20, false);
+        assertEquals(21, limit.limit());
+
+        limit.onSample(Duration.ofSeconds(6).toNanos(), 20, false);
+        assertEquals(18, limit.limit());
+    }
+
+    @Test
+    void staysWithinBounds() {
+        AdaptiveLimit limit = AdaptiveLimit.create(ConcurrencyLimitConfig.builder()
+                .initialLimit(2)
+                .minLimit(1)
+                .maxLimit(3)
+                .build());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, limit.limit(), false);
+        }
+        assertEquals(3, limit.limit());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, limit.limit(), true);
+        }
+        assertEquals(1, limit.limit());
+    }
+
+    /**
+     * Round trip time varying by up to 20% around its mean.
+     */
+    private static long jittered(Random random) {
+        return (long) (RTT * (0.8 + 0.4 * random.nextDouble()));
+    }
+}
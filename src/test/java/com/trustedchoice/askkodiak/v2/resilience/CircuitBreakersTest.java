@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiakException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakersTest {
+
+    private static final String PRODUCT = "GET /v2/product/{id}";
+
+    private static final CallPolicy.Call SUCCEEDS = () -> "product";
+
+    private static final CallPolicy.Call FAILS = () -> {
+        throw new AskKodiakException(503, "unavailable");
+    };
+
+    private static final CallPolicy.Call NOT_FOUND = () -> {
+        throw new AskKodiakException(404, "not found");
+    };
+
+    private static final CallPolicy.Call REJECTED = () -> {
+        throw new ConcurrencyLimitExceededException("limited");
+    };
+
+    @Test
+    void opensAtFailureRate() {
+        CircuitBreakers breakers = new CircuitBreakers(config(Duration.ofMinutes(1)));
+        call(breakers, SUCCEEDS);
+        call(breakers, FAILS);
+        assertEquals(CircuitBreakers.State.CLOSED, breakers.state(PRODUCT));
+
+        call(breakers, FAILS);
+
+        assertEquals(CircuitBreakers.State.OPEN, breakers.state(PRODUCT));
+        assertThrows(CircuitOpenException.class, () -> breakers.apply(PRODUCT, null, null, SUCCEEDS));
+        assertEquals(1, breakers.snapshot().get(PRODUCT).getRejected());
+    }
+
+    @Test
+    void doesNotCountRejectionsOrRequestErrorsAsFailures() {
+        CircuitBreakers breakers = new CircuitBreakers(config(Duration.ofMinutes(1)));
+        for (int i = 0; i < 10; i++) {
+            call(breakers, REJECTED);
+            call(breakers, NOT_FOUND);
+        }
+
+        CircuitBreakers.BreakerStats stats = breakers.snapshot().get(PRODUCT);
+        assertEquals(CircuitBreakers.State.CLOSED, stats.getState());
+        assertEquals(0.0, stats.getFailureRate());
+        assertEquals(10, stats.getBufferedCalls());
+    }
+
+    @Test
+    void closesAfterSuccessfulProbe() throws InterruptedException {
+        CircuitBreakers breakers = open();
+
+        call(breakers, SUCCEEDS);
+
+        assertEquals(CircuitBreakers.State.CLOSED, breakers.state(PRODUCT));
+    }
+
+    @Test
+    void reopensAfterFailedProbe() throws InterruptedException {
+        CircuitBreakers breakers = open();
+
+        call(breakers, FAILS);
+
+        assertEquals(CircuitBreakers.State.OPEN, breakers.state(PRODUCT));
+    }
+
+    @Test
+    void releasesProbeEndingInRejectionOrRequestError() throws InterruptedException {
+        CircuitBreakers breakers = open();
+
+        call(breakers, REJECTED);
+        assertEquals(CircuitBreakers.State.HALF_OPEN, breakers.state(PRODUCT));
+        call(breakers, NOT_FOUND);
+        assertEquals(CircuitBreakers.State.HALF_OPEN, breakers.state(PRODUCT));
+
+        // the probe was released, the next call probes and reopens the breaker
+        call(breakers, FAILS);
+        assertEquals(CircuitBreakers.State.OPEN, breakers.state(PRODUCT));
+    }
+
+    @Test
+    void rejectsInvalidThresholds() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakers(CircuitBreakerConfig.builder()
+                .failureRateThreshold(0)
+                .build()));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakers(CircuitBreakerConfig.builder()
+                .failureRateThreshold(50)
+                .build()));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakers(CircuitBreakerConfig.builder()
+                .slowCallRateThreshold(1.5)
+                .build()));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakers(CircuitBreakerConfig.builder()
+                .halfOpenCalls(0)
+                .build()));
+    }
+
+    /**
+     * Breakers opened by two failures out of three calls, then waited on until half open.
+     */
+    private static CircuitBreakers open() throws InterruptedException {
+        CircuitBreakers breakers = new CircuitBreakers(config(Duration.ofMillis(200)));
+        call(breakers, SUCCEEDS);
+        call(breakers, FAILS);
+        call(breakers, FAILS);
+        assertEquals(CircuitBreakers.State.OPEN, breakers.state(PRODUCT));
+        Thread.sleep(250);
+        assertEquals(CircuitBreakers.State.HALF_OPEN, breakers.state(PRODUCT));
+        return breakers;
+    }
+
+    private static CircuitBreakerConfig config(Duration openDuration) {
+        return CircuitBreakerConfig.builder()
+                .windowSize(10)
+                .minimumCalls(3)
+                .failureRateThreshold(0.6)
+                .openDuration(openDuration)
+                .build();
+    }
+
+    private static void call(CircuitBreakers breakers, CallPolicy.Call call) {
+        try {
+            breakers.apply(PRODUCT, null, null, call);
+        } catch (Throwable e) {
+            // outcome recorded by the breaker
+        }
+    }
+}
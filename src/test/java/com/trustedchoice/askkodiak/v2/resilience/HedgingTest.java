@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgingTest {
+
+    private static final String PRODUCT = "GET /v2/product/{id}";
+
+    @Test
+    void hedgesCallsSlowerThanPercentile() throws Throwable {
+        Hedging hedging = new Hedging(config(1, 0.5).build());
+        hedging.apply(PRODUCT, null, null, attempts(5));
+
+        Object result = hedging.apply(PRODUCT, null, null, attempts(1_000));
+
+        assertEquals("hedge", result);
+        Hedging.HedgeStats stats = hedging.snapshot().get(PRODUCT);
+        assertEquals(1, stats.getHedged());
+        assertEquals(1, stats.getHedgeWins());
+    }
+
+    @Test
+    void waitsForPrimaryWhenBudgetIsSpent() throws Throwable {
+        Hedging hedging = new Hedging(config(1, 0.5).maxHedgeRatio(0).hedgeReserve(0).build());
+        hedging.apply(PRODUCT, null, null, attempts(5));
+
+        Object result = hedging.apply(PRODUCT, null, null, attempts(50));
+
+        assertEquals("primary", result);
+        assertEquals(1, hedging.snapshot().get(PRODUCT).getBudgetExhausted());
+    }
+
+    @Test
+    void measuresHedgedPrimaries() throws Throwable {
+        Hedging hedging = new Hedging(config(20, 0.75).build());
+        for (int i = 0; i < 20; i++) {
+            hedging.apply(PRODUCT, null, null, attempts(i % 2 == 0 ? 5 : 30));
+        }
+        for (int i = 0; i < 40; i++) {
+            hedging.apply(PRODUCT, null, null, attempts(i % 2 == 0 ? 5 : 60));
+        }
+
+        // half the primaries are slow, measuring only those beating the delay would drop it to the fast ones
+        Duration delay = hedging.snapshot().get(PRODUCT).getDelay();
+        assertTrue(delay.toMillis() >= 25, "delay " + delay);
+    }
+
+    @Test
+    void interruptsLosingAttempt() throws Throwable {
+        Hedging hedging = new Hedging(config(1, 0.5).build());
+        hedging.apply(PRODUCT, null, null, attempts(5));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicInteger attempt = new AtomicInteger();
+
+        Object result = hedging.apply(PRODUCT, null, null, () -> {
+            if (attempt.getAndIncrement() > 0) {
+                return "hedge";
+            }
+            try {
+                Thread.sleep(10_000);
+                return "primary";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+
+        assertEquals("hedge", result);
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    private static HedgingConfig.HedgingConfigBuilder config(int window, double percentile) {
+        return HedgingConfig.builder()
+                .endpoints(Collections.singleton(PRODUCT))
+                .window(window)
+                .minimumCalls(window)
+                .percentile(percentile)
+                .minDelay(Duration.ofMillis(1))
+                .maxHedgeRatio(1)
+                .hedgeReserve(1_000);
+    }
+
+    /**
+     * A call whose first attempt takes the given time and whose hedge answers at once.
+     */
+    private static CallPolicy.Call attempts(long primaryMillis) {
+        AtomicInteger attempt = new AtomicInteger();
+        return () -> {
+            if (attempt.getAndIncrement() > 0) {
+                return "hedge";
+            }
+            Thread.sleep(primaryMillis);
+            return "primary";
+        };
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import com.trustedchoice.askkodiak.v2.resilience.Deadline;
+import com.trustedchoice.askkodiak.v2.resilience.DeadlineExceededException;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingClientTest {
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET,
+            "https://api.askkodiak.com/v2/naics/codes", Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+
+    private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, false);
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final CoalescingStats stats = new CoalescingStats();
+
+    private final CountDownLatch sending = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CoalescingClient client = new CoalescingClient((request, options) -> {
+        calls.incrementAndGet();
+        sending.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Collections.emptyMap())
+                .body("{}", StandardCharsets.UTF_8)
+                .build();
+    }, stats);
+
+    private final ExecutorService threads = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        threads.shutdownNow();
+    }
+
+    @Test
+    void sharesTheResponseOfAnIdenticalRequest() throws Exception {
+        Future<String> leader = threads.submit(() -> body(client.execute(REQUEST, OPTIONS)));
+        sending.await();
+        Future<String> waiter = threads.submit(() -> body(client.execute(REQUEST, OPTIONS)));
+        awaitJoined();
+
+        release.countDown();
+
+        assertEquals("{}", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("{}", waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void waitsNoLongerThanTheReadTimeout() throws Exception {
+        threads.submit(() -> client.execute(REQUEST, OPTIONS));
+        sending.await();
+        Request.Options shortRead = new Request.Options(1, TimeUnit.SECONDS, 50, TimeUnit.MILLISECONDS, false);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(4),
+                () -> assertThrows(SocketTimeoutException.class, () -> client.execute(REQUEST, shortRead)));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void waitsNoLongerThanTheDeadline() throws Exception {
+        threads.submit(() -> client.execute(REQUEST, OPTIONS));
+        sending.await();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(4), () -> {
+            try (Deadline.Scope scope = Deadline.within(Duration.ofMillis(50))) {
+                assertThrows(DeadlineExceededException.class, () -> client.execute(REQUEST, OPTIONS));
+            }
+        });
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void sharesFailures() throws Exception {
+        CoalescingClient failing = new CoalescingClient((request, options) -> {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Connection reset");
+        }, stats);
+        Future<Response> leader = threads.submit(() -> failing.execute(REQUEST, OPTIONS));
+        sending.await();
+        Future<Response> waiter = threads.submit(() -> failing.execute(REQUEST, OPTIONS));
+        awaitJoined();
+
+        release.countDown();
+
+        assertTrue(assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause()
+                instanceof IOException);
+        assertTrue(assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS)).getCause()
+                instanceof IOException);
+    }
+
+    /**
+     * Wait until a second call joined the request in flight.
+     */
+    private void awaitJoined() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stats.snapshot().values().stream().mapToLong(CoalescingStats.EndpointStats::getHits).sum() == 0) {
+            assertTrue(System.nanoTime() < deadline, "no call joined the request in flight");
+            Thread.sleep(1);
+        }
+    }
+
+    private static String body(Response response) throws IOException {
+        try (Response closing = response) {
+            return Util.toString(closing.body().asReader(StandardCharsets.UTF_8));
+        }
+    }
+}
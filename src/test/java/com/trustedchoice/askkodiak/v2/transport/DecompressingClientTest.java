@@ -0,0 +1,188 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Consumer Agent Portal, LLC (TrustedChoice.com)
+ *                    Superkick Ventures, LLC (Ask Kodiak)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.trustedchoice.askkodiak.v2.transport;
+
+import com.trustedchoice.askkodiak.v2.client.AskKodiak;
+import com.trustedchoice.askkodiak.v2.client.AskKodiakClient;
+import com.trustedchoice.askkodiak.v2.model.naics.NaicsCode;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class DecompressingClientTest {
+
+    private static final String CODES = "{\"541110\":{\"code\":\"541110\",\"description\":\"Offices of Lawyers\"}}";
+
+    private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, false);
+
+    private ServerSocket server;
+
+    private String encoding;
+
+    private int status;
+
+    @BeforeEach
+    void start() throws IOException {
+        encoding = Util.ENCODING_GZIP;
+        status = 200;
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread thread = new Thread(this::serve, "stub-api");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        server.close();
+    }
+
+    /**
+     * Answers every request with the compressed codes. A plain socket is used as {@code com.sun.net.httpserver}
+     * rewrites header names to {@code Content-encoding}, which {@link Client.Default} does not recognize, whereas the
+     * API sends {@code Content-Encoding}.
+     */
+    private void serve() {
+        while (!server.isClosed()) {
+            try (Socket socket = server.accept()) {
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+                String line;
+                do {
+                    line = in.readLine();
+                } while (line != null && !line.isEmpty());
+                byte[] body = compress(CODES, encoding);
+                OutputStream out = socket.getOutputStream();
+                out.write(("HTTP/1.1 " + status + " Stub\r\n"
+                        + "Content-Type: application/json\r\n"
+                        + "Content-Encoding: " + encoding + "\r\n"
+                        + "Content-Length: " + body.length + "\r\n"
+                        + "Connection: close\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+                out.write(body);
+                out.flush();
+            } catch (IOException e) {
+                // closed by the test
+            }
+        }
+    }
+
+    @Test
+    void decodesGzipWithDefaultClient() {
+        CompressionStats stats = new CompressionStats();
+        AskKodiak askKodiak = AskKodiakClient.builder("group", "key")
+                .endpoint(url())
+                .compression(stats)
+                .build();
+
+        Map<String, NaicsCode> codes = askKodiak.getCodes();
+
+        assertEquals("Offices of Lawyers", codes.get("541110").getDescription());
+        CompressionStats.EndpointStats endpoint = stats.snapshot().get("GET /v2/naics/codes");
+        assertEquals(1, endpoint.getCompressedResponses());
+        assertEquals(compress(CODES, encoding).length, endpoint.getWireBytes());
+        assertEquals(CODES.length(), endpoint.getDecodedBytes());
+    }
+
+    @Test
+    void decodesDeflateWithDefaultClient() {
+        encoding = Util.ENCODING_DEFLATE;
+        AskKodiak askKodiak = AskKodiakClient.builder("group", "key")
+                .endpoint(url())
+                .compression(true)
+                .build();
+
+        assertEquals("Offices of Lawyers", askKodiak.getCodes().get("541110").getDescription());
+    }
+
+    @Test
+    void decodesErrorResponsesTheDefaultClientLeavesCompressed() throws IOException {
+        status = 404;
+        Client client = new DecompressingClient(new Client.Default(null, null), null);
+
+        try (Response response = client.execute(request(), OPTIONS)) {
+            assertEquals(404, response.status());
+            assertEquals(CODES, Util.toString(response.body().asReader(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    void decodesBodiesOfClientsNotDecompressing() throws IOException {
+        Client raw = (request, options) -> Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Collections.singletonMap(Util.CONTENT_ENCODING, Collections.singletonList("gzip")))
+                .body(compress(CODES, Util.ENCODING_GZIP))
+                .build();
+        Client client = new DecompressingClient(raw, null);
+
+        try (Response response = client.execute(request(), OPTIONS)) {
+            assertEquals(CODES, Util.toString(response.body().asReader(StandardCharsets.UTF_8)));
+            assertFalse(response.headers().containsKey(Util.CONTENT_ENCODING));
+        }
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getLocalPort();
+    }
+
+    private Request request() {
+        return Request.create(Request.HttpMethod.GET, url() + "/v2/naics/codes", Collections.emptyMap(), null,
+                StandardCharsets.UTF_8, null);
+    }
+
+    private static byte[] compress(String text, String encoding) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = Util.ENCODING_GZIP.equals(encoding)
+                ? new GZIPOutputStream(bytes)
+                : new DeflaterOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+}